@@ -2,6 +2,7 @@ plugins {
     java
     id("org.springframework.boot") version "3.5.5"
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "com"
@@ -27,11 +28,18 @@ repositories {
 dependencies {
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
     implementation("org.springframework.boot:spring-boot-starter-web")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+    implementation("org.springframework.boot:spring-boot-starter-aop")
+    implementation("org.hibernate.orm:hibernate-micrometer")
+    implementation("org.hibernate.orm:hibernate-jcache")
+    implementation("org.ehcache:ehcache::jakarta")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
     compileOnly("org.projectlombok:lombok")
     developmentOnly("org.springframework.boot:spring-boot-devtools")
     runtimeOnly("com.h2database:h2")
     annotationProcessor("org.projectlombok:lombok")
     testImplementation("org.springframework.boot:spring-boot-starter-test")
+    testImplementation("org.springframework.security:spring-security-test")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
     testImplementation("org.junit.jupiter:junit-jupiter")
     implementation("org.springframework.boot:spring-boot-starter-thymeleaf")
@@ -40,8 +48,77 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-security")
     implementation("org.thymeleaf.extras:thymeleaf-extras-springsecurity6")
     implementation("org.commonmark:commonmark:0.21.0")
+    jmhImplementation("org.springframework.boot:spring-boot-starter-test")
+    jmhImplementation("org.springframework.security:spring-security-test")
+}
+
+// AOT 처리 - 빈 정의를 빌드할 때 미리 분석해서 자바 코드로 만들어 두고 bootJar에 포함 (기동 시 리플렉션/설정 분석 생략)
+// 프로필과 조건(@Profile, @ConditionalOn...)은 빌드할 때 결정되므로 운영(prod) 프로필로 처리함
+// 실행할 때 -Dspring.aot.enabled=true 를 주어야 사용됨 (scripts/start-prod.sh)
+// (org.springframework.boot 플러그인 jar에 포함된 플러그인이라 plugins 블록 대신 apply로 적용)
+apply(plugin = "org.springframework.boot.aot")
+
+tasks.named<org.springframework.boot.gradle.tasks.aot.ProcessAot>("processAot") {
+    args("--spring.profiles.active=prod")
+}
+
+// 부하 테스트 도구(src/loadtest/java) - 실행 중인 애플리케이션에 요청을 보냄
+// ./gradlew loadTest -Dsbb.loadtest.base-url=http://localhost:8070 -Dsbb.loadtest.concurrency=200 -Dsbb.loadtest.seconds=60
+sourceSets {
+    create("loadtest")
+}
+
+val loadTest by tasks.registering(JavaExec::class) {
+    description = "Replays a request mix against a running server and reports latency percentiles."
+    group = "verification"
+    classpath = sourceSets["loadtest"].runtimeClasspath
+    mainClass = "com.jumptospringboot.sbb.loadtest.LoadDriver"
+    systemProperties(System.getProperties().filterKeys { (it as String).startsWith("sbb.loadtest.") }
+        .mapKeys { it.key as String })
+}
+
+// JMH 벤치마크(src/jmh/java) - ./gradlew jmh
+// 결과는 build/results/jmh/results.json에 저장됨 (빌드 간 비교용)
+// 특정 벤치마크만 실행: ./gradlew jmh -Pjmh.includes=Markdown
+// 프로파일러 사용(예: 힙 할당량): ./gradlew jmh -Pjmh.profilers=gc
+jmh {
+    jmhVersion = "1.37"
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file("results/jmh/results.json")
+    fork = 1
+    warmupIterations = 3
+    warmup = "2s"
+    iterations = 5
+    timeOnIteration = "2s"
+    (findProperty("jmh.includes") as String?)?.let { includes = listOf(it) }
+    (findProperty("jmh.profilers") as String?)?.let { profilers = it.split(",") }
 }
 
 tasks.withType<Test> {
     useJUnitPlatform()
 }
+
+// 오래 걸리는 벤치마크(@Tag("benchmark"))는 기본 test 작업에서 제외
+tasks.test {
+    useJUnitPlatform {
+        excludeTags("benchmark")
+    }
+}
+
+// 벤치마크만 실행 - ./gradlew benchmark (-Dsbb.benchmark.concurrency=..., -Dsbb.benchmark.seconds=...)
+val benchmark by tasks.registering(Test::class) {
+    description = "Runs benchmark-tagged tests."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("benchmark")
+    }
+    systemProperties(System.getProperties().filterKeys { (it as String).startsWith("sbb.benchmark.") }
+        .mapKeys { it.key as String })
+    testLogging {
+        showStandardStreams = true
+    }
+    outputs.upToDateWhen { false }
+    shouldRunAfter(tasks.test)
+}
@@ -0,0 +1,42 @@
+#!/bin/sh
+# CDS(클래스 데이터 공유) 아카이브 생성 - ./gradlew bootJar 후 한 번 실행 (jar가 바뀔 때마다 다시 실행)
+# 1. bootJar를 build/prod에 풀어서 일반 클래스패스(jar + lib/)로 실행할 수 있게 만듦 (CDS는 중첩 jar를 지원하지 않음)
+# 2. 학습 실행: 메모리 DB로 기동해서 주요 화면을 몇 번 요청한 뒤 종료하면,
+#    그동안 읽은 클래스(스프링, 하이버네이트, 타임리프 등)가 build/prod/application.jsa에 저장됨
+# 이후 scripts/start-prod.sh가 이 아카이브를 사용해서 클래스를 읽고 검증하는 시간을 줄임
+set -e
+cd "$(dirname "$0")/.."
+
+JAR=$(ls build/libs/*.jar | grep -v -e '-plain.jar' -e '-jmh.jar' | head -n 1)
+OUT=build/prod
+PORT=${SBB_TRAINING_PORT:-18070}
+
+rm -rf "$OUT"
+java -Djarmode=tools -jar "$JAR" extract --destination "$OUT"
+
+java -XX:ArchiveClassesAtExit="$OUT/application.jsa" -Xlog:cds=error -Dspring.aot.enabled=true \
+    -jar "$OUT/$(basename "$JAR")" --spring.profiles.active=prod --server.port="$PORT" \
+    --spring.datasource.url="jdbc:h2:mem:cds_training;MODE=MySQL" --spring.jpa.hibernate.ddl-auto=create &
+PID=$!
+
+# 기동을 기다린 뒤 화면을 요청해서 첫 요청에 필요한 클래스(템플릿 엔진, 레이아웃 등)도 아카이브에 포함
+i=0
+until curl -s -o /dev/null "http://localhost:$PORT/question/list"; do
+    i=$((i + 1))
+    if [ "$i" -gt 600 ] || ! kill -0 "$PID" 2>/dev/null; then
+        echo "training run did not start" >&2
+        kill "$PID" 2>/dev/null || true
+        exit 1
+    fi
+    sleep 0.1
+done
+for path in / /question/list "/question/list?kw=spring" /question/detail/1 /user/login /user/signup /api/questions; do
+    for n in 1 2 3; do
+        curl -s -o /dev/null "http://localhost:$PORT$path"
+    done
+done
+
+# 정상 종료할 때 아카이브가 기록됨
+kill -TERM "$PID"
+wait "$PID" || true
+ls -l "$OUT/application.jsa"
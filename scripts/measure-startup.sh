@@ -0,0 +1,74 @@
+#!/bin/sh
+# 기동 후 첫 요청까지 걸린 시간(time-to-first-request) 비교 - 먼저 ./gradlew bootJar, scripts/cds-training.sh 실행
+# 사용법: scripts/measure-startup.sh [반복 횟수(기본 5)]
+# 측정 방식: java 프로세스를 시작한 시각부터 /question/list가 처음 200으로 응답한 시각까지 (같은 DB 파일 사용)
+#   baseline      기존 방식 - bootJar + 기본(dev) 프로필 (템플릿 파일 직접 읽기, SQL 로그, ddl-auto update)
+#   prod          bootJar + prod 프로필
+#   prod-aot-cds  풀어 놓은 jar + prod 프로필 + AOT + CDS 아카이브 (scripts/start-prod.sh와 같은 방식)
+# 결과는 build/results/startup/results.json에 저장됨
+set -e
+cd "$(dirname "$0")/.."
+
+RUNS=${1:-5}
+PORT=${SBB_MEASURE_PORT:-18071}
+JAR=$(ls build/libs/*.jar | grep -v -e '-plain.jar' -e '-jmh.jar' | head -n 1)
+PROD_JAR=build/prod/$(basename "$JAR")
+DB_URL="jdbc:h2:./build/startup/db;MODE=MySQL"
+RESULTS=build/results/startup
+mkdir -p "$RESULTS" build/startup
+
+if [ ! -f build/prod/application.jsa ]; then
+    echo "run scripts/cds-training.sh first" >&2
+    exit 1
+fi
+
+# 측정용 DB에 스키마를 미리 만들어 둠 (prod 프로필은 기동할 때 스키마를 만들지 않음)
+rm -f build/startup/db.*
+java -Dspring.context.exit=onRefresh -jar "$JAR" --spring.profiles.active=prod \
+    --spring.datasource.url="$DB_URL" --spring.jpa.hibernate.ddl-auto=update > build/startup/schema.log 2>&1 || true
+
+now_ms() {
+    echo $(($(date +%s%N) / 1000000))
+}
+
+# 한 번 기동해서 첫 요청까지의 시간(ms)을 출력
+measure() {
+    start=$(now_ms)
+    "$@" --server.port="$PORT" --spring.datasource.url="$DB_URL" > build/startup/run.log 2>&1 &
+    pid=$!
+    until [ "$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$PORT/question/list")" = "200" ]; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "application exited, see build/startup/run.log" >&2
+            exit 1
+        fi
+        sleep 0.02
+    done
+    end=$(now_ms)
+    kill -TERM "$pid"
+    wait "$pid" || true
+    echo $((end - start))
+}
+
+median() {
+    tr ' ' '\n' | sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+json="["
+for mode in baseline prod prod-aot-cds; do
+    times=""
+    for run in $(seq "$RUNS"); do
+        case $mode in
+            baseline) t=$(measure java -jar "$JAR") ;;
+            prod) t=$(measure java -jar "$JAR" --spring.profiles.active=prod) ;;
+            prod-aot-cds) t=$(measure java -XX:SharedArchiveFile=build/prod/application.jsa -Dspring.aot.enabled=true \
+                -jar "$PROD_JAR" --spring.profiles.active=prod) ;;
+        esac
+        times="$times $t"
+    done
+    m=$(echo $times | median)
+    printf '%-14s median %6d ms  runs:%s\n' "$mode" "$m" "$times"
+    [ "$json" = "[" ] || json="$json,"
+    json="$json{\"mode\":\"$mode\",\"medianMillis\":$m,\"runsMillis\":[$(echo $times | tr ' ' ',')]}"
+done
+echo "$json]" > "$RESULTS/results.json"
+echo "results: $RESULTS/results.json"
@@ -0,0 +1,12 @@
+#!/bin/sh
+# 운영 프로필로 실행 - AOT 처리된 빈 정의와 CDS 아카이브를 사용 (먼저 scripts/cds-training.sh 실행)
+# 추가 인자는 그대로 애플리케이션에 전달됨
+# 예) 처음 실행할 때 스키마 생성: scripts/start-prod.sh --spring.jpa.hibernate.ddl-auto=update
+set -e
+cd "$(dirname "$0")/.."
+
+OUT=build/prod
+JAR=$(ls "$OUT"/*.jar | head -n 1)
+
+exec java -XX:SharedArchiveFile="$OUT/application.jsa" -Dspring.aot.enabled=true $JAVA_OPTS \
+    -jar "$JAR" --spring.profiles.active=prod "$@"
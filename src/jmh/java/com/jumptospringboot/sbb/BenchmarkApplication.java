@@ -0,0 +1,82 @@
+package com.jumptospringboot.sbb;
+
+import com.jumptospringboot.JumptoSpringBootApplication;
+import com.jumptospringboot.sbb.answer.AnswerService;
+import com.jumptospringboot.sbb.question.Question;
+import com.jumptospringboot.sbb.question.QuestionRepository;
+import com.jumptospringboot.sbb.question.QuestionService;
+import com.jumptospringboot.sbb.search.SearchIndex;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+// JMH 벤치마크에서 사용할 애플리케이션 - 벤치마크마다 별도의 메모리 DB로 기동하고 데이터를 채움
+// 측정값이 로그 출력에 좌우되지 않도록 SQL 로그를 끄고, 템플릿 캐시를 켜서 운영 환경과 같은 조건으로 실행
+public final class BenchmarkApplication {
+    // 검색 벤치마크용 키워드 - 일부 질문의 제목/내용과 답변에만 들어 있음
+    public static final String KEYWORD = "스프링부트";
+
+    private static final List<String> WORDS = List.of(
+            "질문", "답변", "자바", "파이썬", "데이터베이스", "트랜잭션", "인덱스", "캐시", "템플릿", "보안");
+
+    private BenchmarkApplication() {
+    }
+
+    public static ConfigurableApplicationContext start(String name, WebApplicationType webApplicationType) {
+        return start(name, webApplicationType, new String[0]);
+    }
+
+    // args: 벤치마크마다 바꿀 설정 (예: --sbb.slow-query.enabled=true)
+    public static ConfigurableApplicationContext start(String name, WebApplicationType webApplicationType, String... args) {
+        return new SpringApplicationBuilder(JumptoSpringBootApplication.class)
+                .web(webApplicationType)
+                .profiles("test")
+                .logStartupInfo(false)
+                .run(Stream.concat(Stream.of("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:jmh_" + name + ";MODE=MySQL",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.format_sql=false",
+                        "--spring.jpa.properties.hibernate.highlight_sql=false",
+                        "--spring.jpa.properties.hibernate.use_sql_comments=false",
+                        "--spring.thymeleaf.cache=true",
+                        "--spring.thymeleaf.prefix=classpath:/templates/",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.orm.jdbc.bind=WARN",
+                        "--logging.level.org.hibernate.orm.jdbc.extract=WARN",
+                        "--logging.level.org.springframework.transaction.interceptor=WARN"), Stream.of(args))
+                        .toArray(String[]::new));
+    }
+
+    // 질문 questions개, 질문마다 답변 answersPerQuestion개를 만들고, 검색 색인이 준비될 때까지 기다림
+    public static void seed(ConfigurableApplicationContext context, int questions, int answersPerQuestion) {
+        QuestionService questionService = context.getBean(QuestionService.class);
+        QuestionRepository questionRepository = context.getBean(QuestionRepository.class);
+        AnswerService answerService = context.getBean(AnswerService.class);
+        for (int i = 0; i < questions; i++) {
+            String subject = String.format("벤치마크 질문 %05d %s", i, i % 50 == 0 ? KEYWORD : WORDS.get(i % WORDS.size()));
+            questionService.create(subject, text(i), null);
+        }
+        for (Question question : questionRepository.findAll()) {
+            for (int i = 0; i < answersPerQuestion; i++) {
+                answerService.create(question, text(question.getId() + i) + (i == 0 && question.getId() % 70 == 0 ? KEYWORD : ""), null);
+            }
+        }
+
+        SearchIndex searchIndex = context.getBean(SearchIndex.class);
+        while (!searchIndex.isReady()) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static String text(int seed) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 30; i++) {
+            sb.append(WORDS.get((seed + i * 7) % WORDS.size())).append(i % 10 == 9 ? "\n\n" : " ");
+        }
+        return sb.toString();
+    }
+}
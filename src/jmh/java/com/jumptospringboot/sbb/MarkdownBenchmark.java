@@ -0,0 +1,51 @@
+package com.jumptospringboot.sbb;
+
+import com.jumptospringboot.sbb.cache.LocalCaches;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+// CommonUtil 마크다운 변환 - 문서 크기별로 캐시를 거치는 경우(markdown)와 매번 변환하는 경우(render) 비교
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MarkdownBenchmark {
+    // 문서에 들어갈 단락 수
+    @Param({"1", "10", "100", "1000"})
+    private int paragraphs;
+
+    private CommonUtil commonUtil;
+    private String document;
+
+    @Setup
+    public void setup() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        commonUtil = new CommonUtil(new LocalCaches(meterRegistry), 1000, meterRegistry);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < paragraphs; i++) {
+            sb.append("## 제목 ").append(i).append("\n\n")
+                    .append("**굵은 글씨**와 *기울임*, `코드`, [링크](https://example.com/").append(i).append(")가 섞인 단락\n\n")
+                    .append("- 목록 1\n- 목록 2\n\n")
+                    .append("```java\nSystem.out.println(").append(i).append(");\n```\n\n");
+        }
+        document = sb.toString();
+    }
+
+    @Benchmark
+    public String markdown() {
+        return commonUtil.markdown(document);
+    }
+
+    @Benchmark
+    public String render() {
+        return commonUtil.render(document);
+    }
+}
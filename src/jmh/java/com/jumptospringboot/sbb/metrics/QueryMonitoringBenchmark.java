@@ -0,0 +1,57 @@
+package com.jumptospringboot.sbb.metrics;
+
+import com.jumptospringboot.sbb.BenchmarkApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 느린 SQL 로그(sbb.slow-query.enabled)를 켰을 때 Connection/Statement를 감싸는 비용
+// one: 한 행을 읽는 SQL, rows: 1000행을 읽는 SQL - 행 수에 따라 비용이 늘지 않아야 함
+// 요청 밖에서 실행하므로 enabled=false이면 커넥션을 감싸지 않음 (요청별 SQL 수 세기도 꺼짐)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class QueryMonitoringBenchmark {
+    @Param({"false", "true"})
+    private boolean enabled;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private Integer id;
+
+    @Setup
+    public void setup() {
+        context = BenchmarkApplication.start("monitoring", WebApplicationType.NONE,
+                "--sbb.slow-query.enabled=" + enabled);
+        BenchmarkApplication.seed(context, 1000, 0);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        id = jdbcTemplate.queryForObject("select max(id) from question", Integer.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String one() {
+        return jdbcTemplate.queryForObject("select subject from question where id = ?", String.class, id);
+    }
+
+    @Benchmark
+    public List<Integer> rows() {
+        return jdbcTemplate.queryForList("select id from question order by id limit 1000", Integer.class);
+    }
+}
@@ -0,0 +1,60 @@
+package com.jumptospringboot.sbb.question;
+
+import com.jumptospringboot.sbb.BenchmarkApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+// 상세 화면 조회(QuestionService.getQuestionDetail) - 읽기 전용 트랜잭션과 읽기/쓰기 트랜잭션 비교
+// readOnly=false는 쓰기 트랜잭션 안에서 호출해서 조회한 엔티티마다 스냅샷을 만들고 커밋할 때 플러시(변경 감지)하게 함
+// 힙 할당량까지 보려면 gc 프로파일러 사용: ./gradlew jmh -Pjmh.includes=QuestionDetail -Pjmh.profilers=gc
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class QuestionDetailBenchmark {
+    @Param({"10"})
+    private int answersPerQuestion;
+
+    @Param({"true", "false"})
+    private boolean readOnly;
+
+    private ConfigurableApplicationContext context;
+    private QuestionService questionService;
+    private TransactionTemplate readWrite;
+    private Integer id;
+
+    @Setup
+    public void setup() {
+        context = BenchmarkApplication.start("detail", WebApplicationType.NONE);
+        BenchmarkApplication.seed(context, 100, answersPerQuestion);
+        questionService = context.getBean(QuestionService.class);
+        readWrite = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        id = context.getBean(QuestionRepository.class).findLatest(Limit.of(1)).get(0).id();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public QuestionDetail detail() {
+        if (readOnly) {
+            return questionService.getQuestionDetail(id, 0, "oldest");
+        }
+        return readWrite.execute(status -> questionService.getQuestionDetail(id, 0, "oldest"));
+    }
+}
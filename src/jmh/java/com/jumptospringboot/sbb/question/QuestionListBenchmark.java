@@ -0,0 +1,65 @@
+package com.jumptospringboot.sbb.question;
+
+import com.jumptospringboot.sbb.BenchmarkApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+// 질문 목록 화면 - QuestionService.getList 조회부터 question_list.html 렌더링까지 (네트워크 제외)
+// cached=false는 매번 목록 표 캐시를 비워서 조회와 표 렌더링까지 포함한 비용을 측정
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class QuestionListBenchmark {
+    @Param({"2000"})
+    private int questions;
+
+    // 빈 값이면 전체 목록, 아니면 검색 결과 목록
+    @Param({"", BenchmarkApplication.KEYWORD})
+    private String kw;
+
+    @Param({"true", "false"})
+    private boolean cached;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private QuestionListCache questionListCache;
+
+    @Setup
+    public void setup() {
+        context = BenchmarkApplication.start("list", WebApplicationType.SERVLET);
+        BenchmarkApplication.seed(context, questions, 0);
+        questionListCache = context.getBean(QuestionListCache.class);
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).apply(springSecurity()).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String list() throws Exception {
+        if (!cached) {
+            questionListCache.invalidateAll();
+        }
+        return mockMvc.perform(get("/question/list").param("kw", kw))
+                .andReturn().getResponse().getContentAsString();
+    }
+}
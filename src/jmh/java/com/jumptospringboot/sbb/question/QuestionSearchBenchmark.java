@@ -0,0 +1,69 @@
+package com.jumptospringboot.sbb.question;
+
+import com.jumptospringboot.sbb.BenchmarkApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.concurrent.TimeUnit;
+
+// 검색 - QuestionService.search의 LIKE 조인 Specification, 목록 항목만 읽는 LIKE 검색(searchListItems), 메모리 색인(getList) 비교
+// projection은 Specification과 같은 조건으로 비교하도록 검색 결과 수 캐시(QuestionCount) 없이 매번 개수를 셈
+// search는 패키지 전용 메서드이므로 같은 패키지에 둠
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class QuestionSearchBenchmark {
+    @Param({"2000"})
+    private int questions;
+
+    @Param({"3"})
+    private int answersPerQuestion;
+
+    private ConfigurableApplicationContext context;
+    private QuestionService questionService;
+    private QuestionRepository questionRepository;
+
+    @Setup
+    public void setup() {
+        context = BenchmarkApplication.start("search", WebApplicationType.NONE);
+        BenchmarkApplication.seed(context, questions, answersPerQuestion);
+        questionService = context.getBean(QuestionService.class);
+        questionRepository = context.getBean(QuestionRepository.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<Question> specification() {
+        PageRequest pageable = PageRequest.of(0, 10, Sort.by(Sort.Order.desc("createDate")));
+        return questionRepository.findAll(questionService.search(BenchmarkApplication.KEYWORD), pageable);
+    }
+
+    @Benchmark
+    public Page<QuestionListItem> projection() {
+        PageRequest pageable = PageRequest.of(0, 10, Sort.by(Sort.Order.desc("createDate")));
+        return new PageImpl<>(questionRepository.searchListItems(BenchmarkApplication.KEYWORD, pageable), pageable,
+                questionRepository.countByKeyword(BenchmarkApplication.KEYWORD));
+    }
+
+    @Benchmark
+    public Page<QuestionListItem> index() {
+        return questionService.getList(0, BenchmarkApplication.KEYWORD);
+    }
+}
@@ -0,0 +1,53 @@
+package com.jumptospringboot.sbb.user;
+
+import com.jumptospringboot.sbb.BenchmarkApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 회원가입 - 비밀번호 암호화(BCrypt)만 측정한 값과 저장까지 포함한 UserService.create 비교
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class UserCreateBenchmark {
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private PasswordEncoder passwordEncoder;
+
+    @Setup
+    public void setup() {
+        context = BenchmarkApplication.start("user", WebApplicationType.NONE);
+        userService = context.getBean(UserService.class);
+        passwordEncoder = context.getBean(PasswordEncoder.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String encode() {
+        return passwordEncoder.encode("password1234");
+    }
+
+    @Benchmark
+    public SiteUser create() {
+        // username, email은 unique이므로 매번 다른 값 사용
+        long n = sequence.incrementAndGet();
+        return userService.create("bench_" + n, "bench_" + n + "@sbb.com", "password1234");
+    }
+}
@@ -0,0 +1,308 @@
+package com.jumptospringboot.sbb.loadtest;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// 실행 중인 애플리케이션에 목록/검색/상세/답변/추천 요청을 섞어서 보내는 부하 테스트 도구
+// 예) ./gradlew loadTest -Dsbb.loadtest.base-url=http://localhost:8070 -Dsbb.loadtest.concurrency=200
+// datagen 프로필로 만든 사용자(user{id} / 1234)로 로그인해서 답변 작성과 추천도 실행함
+// 요청 종류별 처리량과 응답 시간 백분위수를 출력하고 JSON 파일(sbb.loadtest.output)로도 저장
+public final class LoadDriver {
+    private static final Pattern QUESTION_LINK = Pattern.compile("/question/detail/(\\d+)");
+    private static final Pattern CSRF = Pattern.compile("name=\"_csrf\"\\s+value=\"([^\"]+)\"");
+
+    enum Operation {
+        LIST, SEARCH, DETAIL, ANSWER, VOTE
+    }
+
+    private final String baseUrl;
+    private final int concurrency;
+    private final Duration warmup;
+    private final Duration duration;
+    private final int users;
+    private final long firstUserId;
+    private final String password;
+    private final List<String> keywords;
+    private final Map<Operation, Integer> mix;
+    private final int totalWeight;
+    private final Path output;
+
+    private int maxQuestionId;
+
+    private LoadDriver() {
+        this.baseUrl = property("base-url", "http://localhost:8070");
+        this.concurrency = Integer.parseInt(property("concurrency", "100"));
+        this.warmup = Duration.ofSeconds(Long.parseLong(property("warmup-seconds", "10")));
+        this.duration = Duration.ofSeconds(Long.parseLong(property("seconds", "60")));
+        this.users = Integer.parseInt(property("users", "100"));
+        this.firstUserId = Long.parseLong(property("first-user-id", "1"));
+        this.password = property("password", "1234");
+        this.keywords = List.of(property("keywords", "스프링부트,트랜잭션,캐시,오류가 납니다").split(","));
+        this.mix = parseMix(property("mix", "list=40,search=20,detail=30,answer=5,vote=5"));
+        this.totalWeight = this.mix.values().stream().mapToInt(Integer::intValue).sum();
+        this.output = Path.of(property("output", "build/results/loadtest/results.json"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        new LoadDriver().run();
+    }
+
+    private void run() throws Exception {
+        this.maxQuestionId = discoverMaxQuestionId();
+        System.out.printf("target %s, questions up to id %d, %d clients, mix %s%n",
+                this.baseUrl, this.maxQuestionId, this.concurrency, this.mix);
+
+        List<Session> sessions = new ArrayList<>();
+        for (int i = 0; i < Math.min(this.concurrency, this.users); i++) {
+            sessions.add(login("user" + (this.firstUserId + i)));
+        }
+
+        System.out.printf("warmup %d s%n", this.warmup.toSeconds());
+        drive(sessions, this.warmup);
+        System.out.printf("measuring %d s%n", this.duration.toSeconds());
+        Map<Operation, Stats> stats = drive(sessions, this.duration);
+        report(stats);
+    }
+
+    // 클라이언트 concurrency개가 각자 가상 스레드에서 쉬지 않고 요청을 보냄
+    private Map<Operation, Stats> drive(List<Session> sessions, Duration time) throws InterruptedException {
+        long deadline = System.nanoTime() + time.toNanos();
+        List<Map<Operation, Recorder>> recorders = new ArrayList<>();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < this.concurrency; c++) {
+                Session session = sessions.get(c % sessions.size());
+                Map<Operation, Recorder> recorder = new EnumMap<>(Operation.class);
+                for (Operation operation : Operation.values()) {
+                    recorder.put(operation, new Recorder());
+                }
+                recorders.add(recorder);
+                clients.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        Operation operation = pick();
+                        long start = System.nanoTime();
+                        boolean ok = execute(session, operation);
+                        recorder.get(operation).record(System.nanoTime() - start, ok);
+                    }
+                });
+            }
+        }
+
+        Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            List<Recorder> list = recorders.stream().map(r -> r.get(operation)).toList();
+            stats.put(operation, Stats.of(list, time));
+        }
+        return stats;
+    }
+
+    private boolean execute(Session session, Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        try {
+            HttpRequest request = switch (operation) {
+                case LIST -> get("/question/list?page=" + (random.nextInt(10) == 0 ? random.nextInt(100) : 0));
+                case SEARCH -> get("/question/list?kw=" + encode(this.keywords.get(random.nextInt(this.keywords.size()))));
+                case DETAIL -> get("/question/detail/" + randomQuestionId());
+                case ANSWER -> post("/answer/create/" + randomQuestionId(),
+                        "content=" + encode("부하 테스트 답변 " + random.nextInt()) + "&_csrf=" + encode(session.csrf()));
+                case VOTE -> get("/question/vote/" + randomQuestionId());
+            };
+            int status = session.client().send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            // 답변 작성과 추천은 상세 화면으로 리다이렉트, 지워진 질문(404)은 실패로 셈
+            return status < 400;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private Operation pick() {
+        int n = ThreadLocalRandom.current().nextInt(this.totalWeight);
+        for (Map.Entry<Operation, Integer> entry : this.mix.entrySet()) {
+            n -= entry.getValue();
+            if (n < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private int randomQuestionId() {
+        return 1 + ThreadLocalRandom.current().nextInt(this.maxQuestionId);
+    }
+
+    // 첫 페이지 목록에서 가장 큰 질문 id를 찾음 - 상세 요청은 1 ~ 이 값 사이에서 고름
+    private int discoverMaxQuestionId() throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        String body = client.send(get("/question/list"), HttpResponse.BodyHandlers.ofString()).body();
+        Matcher matcher = QUESTION_LINK.matcher(body);
+        int max = 0;
+        while (matcher.find()) {
+            max = Math.max(max, Integer.parseInt(matcher.group(1)));
+        }
+        if (max == 0) {
+            throw new IllegalStateException("no questions found at " + this.baseUrl + " - run the app with the datagen profile first");
+        }
+        return max;
+    }
+
+    // 폼 로그인 - 로그인 후에는 CSRF 토큰이 바뀌므로 질문 작성 화면에서 새 토큰을 다시 읽음
+    private Session login(String username) throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .cookieHandler(new CookieManager())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        String csrf = csrf(client.send(get("/user/login"), HttpResponse.BodyHandlers.ofString()).body());
+        HttpResponse<Void> response = client.send(post("/user/login",
+                "username=" + encode(username) + "&password=" + encode(this.password) + "&_csrf=" + encode(csrf)),
+                HttpResponse.BodyHandlers.discarding());
+        String location = response.headers().firstValue("Location").orElse("");
+        if (location.contains("error")) {
+            throw new IllegalStateException("login failed for " + username);
+        }
+        return new Session(client, csrf(client.send(get("/question/create"), HttpResponse.BodyHandlers.ofString()).body()));
+    }
+
+    private static String csrf(String html) {
+        Matcher matcher = CSRF.matcher(html);
+        if (!matcher.find()) {
+            throw new IllegalStateException("csrf token not found");
+        }
+        return matcher.group(1);
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(this.baseUrl + path)).timeout(Duration.ofSeconds(30)).build();
+    }
+
+    private HttpRequest post(String path, String form) {
+        return HttpRequest.newBuilder(URI.create(this.baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build();
+    }
+
+    private void report(Map<Operation, Stats> stats) throws IOException {
+        System.out.printf("%-8s %10s %10s %8s %8s %8s %8s %8s %8s%n",
+                "op", "requests", "req/s", "errors", "p50", "p90", "p99", "p99.9", "max");
+        StringBuilder json = new StringBuilder("{\n  \"concurrency\": ").append(this.concurrency)
+                .append(",\n  \"seconds\": ").append(this.duration.toSeconds())
+                .append(",\n  \"operations\": {");
+        String separator = "\n";
+        for (Map.Entry<Operation, Stats> entry : stats.entrySet()) {
+            Stats s = entry.getValue();
+            if (s.requests() == 0 && s.errors() == 0) {
+                continue;
+            }
+            String name = entry.getKey().name().toLowerCase(Locale.ROOT);
+            System.out.printf("%-8s %10d %10.1f %8d %8.1f %8.1f %8.1f %8.1f %8.1f%n", name, s.requests(), s.throughput(),
+                    s.errors(), s.percentile(50), s.percentile(90), s.percentile(99), s.percentile(99.9), s.percentile(100));
+            json.append(separator).append(String.format(Locale.ROOT,
+                    "    \"%s\": {\"requests\": %d, \"throughput\": %.1f, \"errors\": %d, "
+                            + "\"p50\": %.2f, \"p90\": %.2f, \"p99\": %.2f, \"p999\": %.2f, \"max\": %.2f}",
+                    name, s.requests(), s.throughput(), s.errors(), s.percentile(50), s.percentile(90),
+                    s.percentile(99), s.percentile(99.9), s.percentile(100)));
+            separator = ",\n";
+        }
+        json.append("\n  }\n}\n");
+        Files.createDirectories(this.output.toAbsolutePath().getParent());
+        Files.writeString(this.output, json);
+        System.out.println("latency in ms, results written to " + this.output.toAbsolutePath());
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> result = new EnumMap<>(Operation.class);
+        for (String part : mix.split(",")) {
+            String[] pair = part.split("=");
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                result.put(Operation.valueOf(pair[0].trim().toUpperCase(Locale.ROOT)), weight);
+            }
+        }
+        return result;
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("sbb.loadtest." + name, defaultValue);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private record Session(HttpClient client, String csrf) {
+    }
+
+    // 클라이언트 하나가 기록하는 응답 시간 - 스레드 하나만 쓰므로 동기화하지 않음
+    private static final class Recorder {
+        private long[] samples = new long[1024];
+        private int count;
+        private int errors;
+
+        void record(long nanos, boolean ok) {
+            if (!ok) {
+                this.errors++;
+                return;
+            }
+            if (this.count == this.samples.length) {
+                this.samples = Arrays.copyOf(this.samples, this.count * 2);
+            }
+            this.samples[this.count++] = nanos;
+        }
+    }
+
+    private record Stats(long[] sortedNanos, int errors, Duration duration) {
+        static Stats of(List<Recorder> recorders, Duration duration) {
+            int total = recorders.stream().mapToInt(r -> r.count).sum();
+            long[] all = new long[total];
+            int offset = 0;
+            int errors = 0;
+            for (Recorder recorder : recorders) {
+                System.arraycopy(recorder.samples, 0, all, offset, recorder.count);
+                offset += recorder.count;
+                errors += recorder.errors;
+            }
+            Arrays.sort(all);
+            return new Stats(all, errors, duration);
+        }
+
+        int requests() {
+            return this.sortedNanos.length;
+        }
+
+        double throughput() {
+            return this.sortedNanos.length / (this.duration.toMillis() / 1000.0);
+        }
+
+        double percentile(double p) {
+            if (this.sortedNanos.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.ceil(p / 100.0 * this.sortedNanos.length) - 1;
+            return this.sortedNanos[Math.max(0, Math.min(index, this.sortedNanos.length - 1))] / 1_000_000.0;
+        }
+    }
+}
@@ -2,7 +2,11 @@ package com.jumptospringboot;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+@EnableAsync // @Async 작업(검색 색인 재구축 등)을 별도 스레드에서 실행하기 위함
+@EnableScheduling // @Scheduled 작업(카운터 보정 등)을 실행하기 위함
 @SpringBootApplication
 public class JumptoSpringBootApplication {
     public static void main(String[] args) {
@@ -1,17 +1,72 @@
 package com.jumptospringboot.sbb;
 
+import com.jumptospringboot.sbb.cache.LocalCache;
+import com.jumptospringboot.sbb.cache.LocalCaches;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.commonmark.node.Node;
 import org.commonmark.parser.Parser;
 import org.commonmark.renderer.html.HtmlRenderer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
 // 마크다운 컴포넌트
 @Component // 스프링 부트가 관리하는 빈으로 등록
 public class CommonUtil {
+    // Parser와 HtmlRenderer는 스레드에 안전하므로 호출할 때마다 만들지 않고 재사용
+    private final Parser parser = Parser.builder().build();
+    private final HtmlRenderer renderer = HtmlRenderer.builder().build();
+
+    // 아직 HTML이 저장되지 않은 글을 위한 캐시 - 내용의 해시 => 변환된 HTML
+    // 같은 내용이면 결과도 같으므로 유효 시간 없이 크기로만 제한함
+    private final LocalCache<String, String> cache;
+    // 마크다운 => HTML 변환 시간 (저장할 때, 백필할 때, 캐시에 없는 글을 화면에 표시할 때)
+    private final Timer renderTimer;
+
+    public CommonUtil(LocalCaches localCaches, @Value("${sbb.markdown.cache-size:1000}") int cacheSize,
+                      MeterRegistry meterRegistry) {
+        this.cache = localCaches.create("sbb.markdown.cache", "마크다운 변환 캐시", String.class, String.class,
+                cacheSize, null);
+        this.renderTimer = Timer.builder("sbb.markdown.render")
+                .description("마크다운 변환 시간")
+                .register(meterRegistry);
+    }
+
+    // 템플릿에서 사용 - 저장된 HTML이 없는 경우에만 호출되며 같은 내용은 한 번만 변환
     public String markdown(String markdown) {
-        Parser parser = Parser.builder().build();
-        Node document = parser.parse(markdown);
-        HtmlRenderer renderer = HtmlRenderer.builder().build();
-        return renderer.render(document);
+        if (markdown == null) {
+            return "";
+        }
+        String key = hash(markdown);
+        String html = cache.get(key);
+        if (html == null) {
+            html = render(markdown);
+            cache.put(key, html);
+        }
+        return html;
+    }
+
+    // 글을 저장할 때 사용 - 캐시 없이 바로 변환
+    public String render(String markdown) {
+        long start = System.nanoTime();
+        Node document = parser.parse(markdown == null ? "" : markdown);
+        String html = renderer.render(document);
+        renderTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return html;
+    }
+
+    private static String hash(String markdown) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(markdown.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 }
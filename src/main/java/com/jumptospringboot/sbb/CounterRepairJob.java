@@ -0,0 +1,39 @@
+package com.jumptospringboot.sbb;
+
+import com.jumptospringboot.sbb.answer.AnswerRepository;
+import com.jumptospringboot.sbb.question.QuestionChangedEvent;
+import com.jumptospringboot.sbb.question.QuestionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+// 답변 개수/추천 수 보정 작업
+// 카운터는 서비스에서 증감하지만, 직접 DB를 수정하는 등의 이유로 어긋날 수 있으므로
+// 주기적으로 answer, question_voter, answer_voter 테이블 기준으로 다시 계산함
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class CounterRepairJob {
+    private final QuestionRepository questionRepository;
+    private final AnswerRepository answerRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // 기동 직후 한 번(카운터 열이 새로 추가된 기존 데이터 포함), 이후 매일 새벽 4시에 실행
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${sbb.counter.repair-cron:0 0 4 * * *}")
+    @Transactional
+    public void repair() {
+        int questions = this.questionRepository.repairCounts();
+        int answers = this.answerRepository.repairCounts();
+        if (questions > 0 || answers > 0) {
+            log.info("counter repair: {} questions, {} answers fixed", questions, answers);
+            // 목록에 보이는 개수가 바뀌었으므로 목록 화면의 ETag를 갱신
+            this.eventPublisher.publishEvent(new QuestionChangedEvent(null));
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.jumptospringboot.sbb;
+
+import com.jumptospringboot.sbb.answer.AnswerRepository;
+import com.jumptospringboot.sbb.question.QuestionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+// 마크다운 일괄 변환 작업
+// HTML 저장 기능이 생기기 전에 작성된 글(contentHtml이 null)을 백그라운드에서 조금씩 변환해서 저장함
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class MarkdownBackfillJob {
+    private static final int BATCH_SIZE = 500;
+
+    private final QuestionRepository questionRepository;
+    private final AnswerRepository answerRepository;
+    private final CommonUtil commonUtil;
+    private final TransactionTemplate transactionTemplate;
+
+    // 변환할 글이 없으면 조회 한 번으로 끝나므로 주기적으로 실행해도 부담이 적음
+    @Scheduled(initialDelayString = "${sbb.markdown.backfill-initial-delay-ms:10000}",
+            fixedDelayString = "${sbb.markdown.backfill-delay-ms:600000}")
+    public void backfill() {
+        int questions = 0;
+        int lastId = 0;
+        List<MarkdownSource> batch;
+        do {
+            batch = this.questionRepository.findMarkdownSources(lastId, Limit.of(BATCH_SIZE));
+            List<MarkdownSource> sources = batch;
+            this.transactionTemplate.executeWithoutResult(status -> sources.forEach(source ->
+                    this.questionRepository.updateContentHtml(source.id(), this.commonUtil.render(source.content()))));
+            if (!batch.isEmpty()) {
+                lastId = batch.get(batch.size() - 1).id();
+            }
+            questions += batch.size();
+        } while (batch.size() == BATCH_SIZE);
+
+        int answers = 0;
+        lastId = 0;
+        do {
+            batch = this.answerRepository.findMarkdownSources(lastId, Limit.of(BATCH_SIZE));
+            List<MarkdownSource> sources = batch;
+            this.transactionTemplate.executeWithoutResult(status -> sources.forEach(source ->
+                    this.answerRepository.updateContentHtml(source.id(), this.commonUtil.render(source.content()))));
+            if (!batch.isEmpty()) {
+                lastId = batch.get(batch.size() - 1).id();
+            }
+            answers += batch.size();
+        } while (batch.size() == BATCH_SIZE);
+
+        if (questions > 0 || answers > 0) {
+            log.info("markdown backfill: {} questions, {} answers rendered", questions, answers);
+        }
+    }
+}
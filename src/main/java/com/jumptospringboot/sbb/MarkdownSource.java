@@ -0,0 +1,5 @@
+package com.jumptospringboot.sbb;
+
+// 마크다운 일괄 변환 시 엔티티 전체 대신 id와 원문만 조회하기 위한 DTO
+public record MarkdownSource(Integer id, String content) {
+}
@@ -0,0 +1,98 @@
+package com.jumptospringboot.sbb;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+// 엔티티 id 시퀀스 정렬
+// IDENTITY에서 시퀀스로 바꾸기 전에 저장된 행의 id와 시퀀스가 나눠 줄 id가 겹치지 않도록 기동할 때 시퀀스를 max(id) 뒤로 옮김
+// JDBC로 직접 넣는 행(datagen)의 id는 reserve로 시퀀스에서 받음
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class SequenceAligner implements SmartInitializingSingleton {
+    // 엔티티의 @SequenceGenerator allocationSize와 같아야 함 (시퀀스의 increment by 값)
+    public static final int ALLOCATION_SIZE = 50;
+
+    // 테이블 => 시퀀스
+    private static final List<String[]> SEQUENCES = List.of(
+            new String[]{"site_user", "site_user_seq"},
+            new String[]{"question", "question_seq"},
+            new String[]{"answer", "answer_seq"});
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // 스키마 생성(ddl-auto)이 끝나고 웹 서버가 요청을 받기 전에 실행
+    @Override
+    public void afterSingletonsInstantiated() {
+        align();
+    }
+
+    public void align() {
+        for (String[] sequence : SEQUENCES) {
+            align(sequence[0], sequence[1]);
+        }
+    }
+
+    // JDBC로 직접 count개의 행을 넣을 때 사용할 id를 확보
+    // 엔티티와 같은 방식(pooled)으로 시퀀스 값 S 하나마다 (S - 49) ~ S를 사용 - 값을 받는 것 자체가 원자적이므로
+    // 그 사이에 엔티티를 저장해도(다른 서버 포함) id가 겹치지 않음 (시퀀스를 읽고 옮기는 두 단계로 나누지 않음)
+    // 중간에 엔티티가 받아 간 값은 건너뛰므로 id가 연속되지 않을 수 있음
+    public Ids reserve(String table, long count) {
+        String sequence = sequenceOf(table);
+        long blocks = (count + ALLOCATION_SIZE - 1) / ALLOCATION_SIZE;
+        List<Long> values = this.transactionTemplate.execute(status -> this.jdbcTemplate.queryForList(
+                "select next value for " + sequence + " from system_range(1, ?)", Long.class, blocks));
+        return new Ids(values.stream().mapToLong(Long::longValue).sorted().toArray());
+    }
+
+    // reserve로 확보한 id - index(0부터)가 커지면 id도 커짐
+    public record Ids(long[] blocks) {
+        public long id(long index) {
+            return this.blocks[(int) (index / ALLOCATION_SIZE)] - ALLOCATION_SIZE + 1 + index % ALLOCATION_SIZE;
+        }
+    }
+
+    // pooled 방식은 시퀀스 값 S를 받으면 (S - 49) ~ S를 사용하므로 S - 49가 max(id)보다 커야 함
+    private synchronized void align(String table, String sequence) {
+        long required = maxId(table) + ALLOCATION_SIZE;
+        long next = nextValue(sequence);
+        if (next < required) {
+            restart(sequence, required);
+            log.info("sequence {} moved from {} to {} (max id of {})", sequence, next, required, table);
+        }
+    }
+
+    private long maxId(String table) {
+        Long max = this.jdbcTemplate.queryForObject("select max(id) from " + table, Long.class);
+        return max == null ? 0 : max;
+    }
+
+    // 시퀀스가 다음에 돌려줄 값 (H2 information_schema)
+    private long nextValue(String sequence) {
+        Long value = this.jdbcTemplate.queryForObject(
+                "select base_value from information_schema.sequences where lower(sequence_name) = ?",
+                Long.class, sequence);
+        return value == null ? 1 : value;
+    }
+
+    private void restart(String sequence, long value) {
+        // auto-commit이 꺼져 있으므로 트랜잭션 안에서 실행
+        this.transactionTemplate.executeWithoutResult(status ->
+                this.jdbcTemplate.execute("alter sequence " + sequence + " restart with " + value));
+    }
+
+    private static String sequenceOf(String table) {
+        return SEQUENCES.stream()
+                .filter(sequence -> sequence[0].equals(table))
+                .map(sequence -> sequence[1])
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("no sequence for table " + table));
+    }
+}
@@ -1,10 +1,15 @@
 package com.jumptospringboot.sbb.answer;
 
+import com.jumptospringboot.sbb.SequenceAligner;
+import com.jumptospringboot.sbb.cache.SecondLevelCacheConfig;
 import com.jumptospringboot.sbb.question.Question;
 import com.jumptospringboot.sbb.user.SiteUser;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.util.Set;
@@ -13,12 +18,18 @@ import java.util.Set;
 // 원래 entity에는 setter 안 씀
 @Setter
 @Entity
+// 상세 화면에서 질문별 답변을 작성일시 순으로 페이징하기 위한 인덱스
+@Table(indexes = @Index(name = "idx_answer_question_create_date", columnList = "question_id, createDate"))
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.ANSWER)
 public class Answer {
     @Id // id 속성을 기본키로 지정
     // @GeneratedValue: 값을 일일이 입력하지 않아도 자동으로 1씩 증가
     // strategy = GenerationType.IDENTITY: 고유한 번호를 생성하는 방법을 지정하는 부분
     // GenerationType.IDENTITY: 해당 속성만 별도로 번호가 차례대로 늘어나도록
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // IDENTITY는 INSERT를 실행해야 id를 알 수 있어서 배치 INSERT가 불가능하므로 시퀀스 사용
+    // allocationSize = 50: 시퀀스를 한 번 호출할 때 id 50개를 미리 받아 두고 메모리에서 나눠 씀(pooled)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "answer_seq")
+    @SequenceGenerator(name = "answer_seq", sequenceName = "answer_seq", allocationSize = SequenceAligner.ALLOCATION_SIZE)
     private Integer id;
 
     // Entity는 Column을 사용하지 않더라도 테이블의 열로 인식하긴 함
@@ -26,6 +37,10 @@ public class Answer {
     @Column(columnDefinition = "TEXT")
     private String content;
 
+    // content를 마크다운으로 변환한 HTML - 저장할 때 한 번만 변환
+    @Column(columnDefinition = "TEXT")
+    private String contentHtml;
+
     private LocalDateTime createDate;
     private LocalDateTime modifyDate;
 
@@ -40,5 +55,11 @@ public class Answer {
     private SiteUser author;
 
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.COLLECTION)
     Set<SiteUser> voter;
+
+    // 추천 수 - voter 컬렉션 전체를 읽지 않도록 따로 저장 (AnswerService의 update 쿼리로만 증감)
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private int voteCount;
 }
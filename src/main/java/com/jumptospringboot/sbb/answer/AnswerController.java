@@ -1,6 +1,7 @@
 package com.jumptospringboot.sbb.answer;
 
 import com.jumptospringboot.sbb.question.Question;
+import com.jumptospringboot.sbb.question.QuestionDetail;
 import com.jumptospringboot.sbb.question.QuestionService;
 import com.jumptospringboot.sbb.user.SiteUser;
 import com.jumptospringboot.sbb.user.UserService;
@@ -41,12 +42,14 @@ public class AnswerController {
         Question question = this.questionService.getQuestion(id);
         SiteUser siteUser = this.userService.getUser(principle.getName());
         if (bindingResult.hasErrors()) {
-            model.addAttribute("question", question);
+            QuestionDetail detail = this.questionService.getQuestionDetail(id, 0, "oldest");
+            model.addAttribute("question", detail.question());
+            model.addAttribute("answerPaging", detail.answerPaging());
+            model.addAttribute("sort", "oldest");
             return "question_detail";
         }
         Answer answer = this.answerService.create(question, answerForm.getContent(), siteUser);
-        return String.format("redirect:/question/detail/%s#answer_%s",
-                answer.getQuestion().getId(), answer.getId());
+        return redirectToAnswer(answer);
     }
 
     // 수정 폼을 보여 주기 위한 요청 -> 수정 버튼을 클릭, GET 요청으로 기존 데이터가 채워진 폼을 보여 줌
@@ -78,7 +81,7 @@ public class AnswerController {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "수정 권한이 없습니다.");
         }
         this.answerService.modify(answer, answerForm.getContent());
-        return String.format("redirect:/question/detail/%s#answer_%s", answer.getQuestion().getId(), answer.getId());
+        return redirectToAnswer(answer);
     }
 
     // 답변 삭제 기능
@@ -100,5 +103,12 @@ public class AnswerController {
         Answer answer = this.answerService.getAnswer(id);
         SiteUser siteUser = this.userService.getUser(principal.getName());
         this.answerService.vote(answer, siteUser);
-        return String.format("redirect:/question/detail/%s#answer_%s", answer.getQuestion().getId(), answer.getId());    }
+        return redirectToAnswer(answer);
+    }
+
+    // 답변은 페이지로 나뉘어 있으므로 해당 답변이 있는 페이지로 이동한 뒤 앵커로 스크롤
+    private String redirectToAnswer(Answer answer) {
+        return String.format("redirect:/question/detail/%s?answerPage=%s#answer_%s",
+                answer.getQuestion().getId(), this.answerService.getPageNumber(answer), answer.getId());
+    }
 }
@@ -1,6 +1,71 @@
 package com.jumptospringboot.sbb.answer;
 
+import com.jumptospringboot.sbb.MarkdownSource;
+import com.jumptospringboot.sbb.cache.EntityCacheEvictor;
+import com.jumptospringboot.sbb.cache.SecondLevelCacheConfig;
+import com.jumptospringboot.sbb.question.Question;
+import com.jumptospringboot.sbb.search.IndexSource;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 public interface AnswerRepository extends JpaRepository<Answer, Integer> {
+    // 상세 화면용 - 질문의 답변 한 페이지와 답변 작성자를 한 번의 쿼리로 조회
+    // 전체 개수는 질문의 answerCount를 사용하므로 count 쿼리가 필요 없어 Page 대신 List로 받음
+    // 쿼리 캐시에는 답변 id 목록만 저장되고 답변과 작성자는 2차 캐시에서 꺼냄 (answer, site_user 테이블이 바뀌면 자동으로 무효화)
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.ANSWER_PAGE)})
+    @Query("select a from Answer a left join fetch a.author where a.question = :question")
+    List<Answer> findDetailByQuestion(@Param("question") Question question, Pageable pageable);
+
+    // 작성일시 순서에서 이 답변보다 앞에 있는 답변 수 - 새 답변이 몇 번째 페이지에 있는지 계산
+    @Query("select count(a) from Answer a where a.question = :question "
+            + "and (a.createDate < :createDate or (a.createDate = :createDate and a.id < :id))")
+    long countBefore(@Param("question") Question question,
+                     @Param("createDate") LocalDateTime createDate, @Param("id") Integer id);
+
+    // 2차 캐시 영역 전체를 비우지 않도록 쿼리 공간을 지정함 - AnswerService가 해당 답변과 답변 페이지 캐시를 지움
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = EntityCacheEvictor.COUNTERS))
+    @Query(value = "update answer set vote_count = vote_count + 1 where id = :id", nativeQuery = true)
+    int incrementVoteCount(@Param("id") Integer id);
+
+    // 추천 기록 - 중복 추천은 answer_voter의 기본키가 막아 주며, 이미 추천한 경우 0을 리턴
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "answer_voter"))
+    @Query(value = "insert ignore into answer_voter (answer_id, voter_id) values (:answerId, :voterId)",
+            nativeQuery = true)
+    int insertVoter(@Param("answerId") Integer answerId, @Param("voterId") Long voterId);
+
+    // 추천 수를 실제 테이블 기준으로 다시 계산 - 어긋난 행만 수정
+    @Modifying
+    @Query(value = "update answer a set "
+            + "vote_count = (select count(*) from answer_voter v where v.answer_id = a.id) "
+            + "where a.vote_count <> (select count(*) from answer_voter v where v.answer_id = a.id)",
+            nativeQuery = true)
+    int repairCounts();
+
+    // 변환된 HTML이 없는 답변 - 마크다운 일괄 변환용
+    @Query("select new com.jumptospringboot.sbb.MarkdownSource(a.id, a.content) from Answer a "
+            + "where a.contentHtml is null and a.id > :id order by a.id")
+    List<MarkdownSource> findMarkdownSources(@Param("id") Integer id, Limit limit);
+
+    @Modifying
+    @Query("update Answer a set a.contentHtml = :html where a.id = :id and a.contentHtml is null")
+    int updateContentHtml(@Param("id") Integer id, @Param("html") String html);
+
+    // 검색 색인 재구축용 - 답변 내용과 작성자명만 id 순서로 끊어서 조회
+    @Query("select new com.jumptospringboot.sbb.search.IndexSource(a.id, a.question.id, '', a.content, u.username, a.createDate) "
+            + "from Answer a left join a.author u "
+            + "where a.id > :id order by a.id")
+    List<IndexSource> findIndexSources(@Param("id") Integer id, Limit limit);
 }
@@ -0,0 +1,13 @@
+package com.jumptospringboot.sbb.answer;
+
+import java.time.LocalDateTime;
+
+// JSON API용 답변 - 엔티티 대신 필요한 값만 담아서 질문, 추천자 등 연관 객체가 직렬화되지 않도록 함
+public record AnswerResponse(Integer id, String content, String contentHtml, String author,
+                             LocalDateTime createDate, LocalDateTime modifyDate, int voteCount) {
+    public static AnswerResponse of(Answer answer) {
+        return new AnswerResponse(answer.getId(), answer.getContent(), answer.getContentHtml(),
+                answer.getAuthor() == null ? null : answer.getAuthor().getUsername(),
+                answer.getCreateDate(), answer.getModifyDate(), answer.getVoteCount());
+    }
+}
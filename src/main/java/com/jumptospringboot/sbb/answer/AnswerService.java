@@ -1,32 +1,86 @@
 package com.jumptospringboot.sbb.answer;
 
+import com.jumptospringboot.sbb.CommonUtil;
 import com.jumptospringboot.sbb.DataNotFoundException;
+import com.jumptospringboot.sbb.cache.EntityCacheEvictor;
+import com.jumptospringboot.sbb.cache.SecondLevelCacheConfig;
 import com.jumptospringboot.sbb.question.Question;
+import com.jumptospringboot.sbb.question.QuestionChangedEvent;
+import com.jumptospringboot.sbb.question.QuestionRepository;
+import com.jumptospringboot.sbb.search.SearchIndex;
 import com.jumptospringboot.sbb.user.SiteUser;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @RequiredArgsConstructor
 @Service
 public class AnswerService {
+    // 상세 화면에서 한 페이지에 보여 줄 답변 개수
+    public static final int PAGE_SIZE = 10;
+
     private final AnswerRepository answerRepository;
+    private final QuestionRepository questionRepository;
+    private final SearchIndex searchIndex;
+    private final CommonUtil commonUtil;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityCacheEvictor entityCacheEvictor;
 
-    // 답변 데이터 생성
+    // 답변 데이터 생성 - 질문의 답변 개수와 마지막 변경 일시도 같은 트랜잭션에서 갱신
+    @Transactional
     public Answer create(Question question, String content, SiteUser author) {
         Answer answer = new Answer();
         answer.setContent(content);
+        answer.setContentHtml(this.commonUtil.render(content)); // 저장할 때 한 번만 마크다운 변환
         answer.setCreateDate(LocalDateTime.now());
         answer.setQuestion(question);
         answer.setAuthor(author);
         this.answerRepository.save(answer);
+        this.questionRepository.addAnswerCount(question.getId(), 1);
+        this.questionRepository.touch(question.getId(), answer.getCreateDate());
+        this.entityCacheEvictor.evict(Question.class, question.getId());
+        this.searchIndex.indexAnswer(answer);
+        this.eventPublisher.publishEvent(new QuestionChangedEvent(question.getId()));
 
         return answer;
     }
 
+    // 질문의 답변 페이징 - sort: oldest(작성순, 기본값), newest(최신순), votes(추천순)
+    // 음수 페이지 번호(?answerPage=-1)는 첫 페이지로 처리
+    @Transactional(readOnly = true)
+    public Page<Answer> getList(Question question, int page, String sort) {
+        Pageable pageable = PageRequest.of(Math.max(page, 0), PAGE_SIZE, toSort(sort));
+        List<Answer> answers = this.answerRepository.findDetailByQuestion(question, pageable);
+        return new PageImpl<>(answers, pageable, question.getAnswerCount());
+    }
+
+    // 작성순 목록에서 이 답변이 있는 페이지 번호 - 답변 등록/수정 후 해당 페이지로 이동하기 위함
+    @Transactional(readOnly = true)
+    public int getPageNumber(Answer answer) {
+        long before = this.answerRepository.countBefore(answer.getQuestion(), answer.getCreateDate(), answer.getId());
+        return (int) (before / PAGE_SIZE);
+    }
+
+    private Sort toSort(String sort) {
+        return switch (sort == null ? "oldest" : sort) {
+            case "newest" -> Sort.by(Sort.Order.desc("createDate"), Sort.Order.desc("id"));
+            case "votes" -> Sort.by(Sort.Order.desc("voteCount"), Sort.Order.asc("createDate"), Sort.Order.asc("id"));
+            default -> Sort.by(Sort.Order.asc("createDate"), Sort.Order.asc("id"));
+        };
+    }
+
     // 답변 데이터 조회
+    @Transactional(readOnly = true)
     public Answer getAnswer(Integer id) {
         Optional<Answer> answer = this.answerRepository.findById(id);
         if(answer.isPresent()) {
@@ -36,21 +90,46 @@ public class AnswerService {
         }
     }
 
-    // 답변 데이터 수정
+    // 답변 데이터 수정 - 질문의 마지막 변경 일시도 같은 트랜잭션에서 갱신
+    @Transactional
     public void modify(Answer answer, String content) {
         answer.setContent(content);
+        answer.setContentHtml(this.commonUtil.render(content));
         answer.setModifyDate(LocalDateTime.now());
         this.answerRepository.save(answer);
+        this.questionRepository.touch(answer.getQuestion().getId(), answer.getModifyDate());
+        // 준영속 객체를 merge하면 갱신하지 않는 추천 수도 조회 당시 값으로 캐시에 들어가므로 지움
+        this.entityCacheEvictor.evict(Answer.class, answer.getId());
+        this.entityCacheEvictor.evict(Question.class, answer.getQuestion().getId());
+        this.searchIndex.indexAnswer(answer);
+        this.eventPublisher.publishEvent(new QuestionChangedEvent(answer.getQuestion().getId()));
     }
 
-    // 답변 데이터 삭제
+    // 답변 데이터 삭제 - 질문의 답변 개수 감소와 마지막 변경 일시 갱신도 같은 트랜잭션에서 처리
+    @Transactional
     public void delete(Answer answer) {
         this.answerRepository.delete(answer);
+        this.questionRepository.addAnswerCount(answer.getQuestion().getId(), -1);
+        this.questionRepository.touch(answer.getQuestion().getId(), LocalDateTime.now());
+        this.entityCacheEvictor.evict(Question.class, answer.getQuestion().getId());
+        this.searchIndex.removeAnswer(answer.getId());
+        this.eventPublisher.publishEvent(new QuestionChangedEvent(answer.getQuestion().getId()));
     }
 
-    // 답변 데이터 추천
-    public void vote(Answer answer, SiteUser siteUser) {
-        answer.getVoter().add(siteUser);
-        this.answerRepository.save(answer);
+    // 답변 데이터 추천 - 추천자 행 하나만 추가하고, 처음 추천한 경우에만 추천 수 증가
+    // 리턴값: 새로운 추천이면 true, 이미 추천했으면 false
+    @Transactional
+    public boolean vote(Answer answer, SiteUser siteUser) {
+        boolean added = this.answerRepository.insertVoter(answer.getId(), siteUser.getId()) > 0;
+        if (added) {
+            this.answerRepository.incrementVoteCount(answer.getId());
+            // 답변 추천 수는 상세 화면에만 보이므로 목록 버전은 그대로 둠
+            this.questionRepository.touch(answer.getQuestion().getId(), LocalDateTime.now());
+            // 추천 수가 바뀐 답변, 질문의 마지막 변경 일시, 추천순 답변 페이지를 캐시에서 지움
+            this.entityCacheEvictor.evict(Answer.class, answer.getId());
+            this.entityCacheEvictor.evict(Question.class, answer.getQuestion().getId());
+            this.entityCacheEvictor.evictQueryRegion(SecondLevelCacheConfig.ANSWER_PAGE);
+        }
+        return added;
     }
 }
@@ -0,0 +1,45 @@
+package com.jumptospringboot.sbb.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// 네이티브 update/JDBC로 바꾼 행을 2차 캐시에서 지움
+// 하이버네이트는 네이티브 update가 어떤 행을 바꿨는지 모르므로 영역 전체를 비우는데,
+// 카운터 update에는 엔티티와 겹치지 않는 쿼리 공간(COUNTERS)을 지정하고 바뀐 행만 여기서 지움
+// 커밋 전에 다른 트랜잭션이 이전 값을 다시 넣을 수 있으므로 지금 한 번, 트랜잭션이 끝난 뒤 한 번 더 지움
+@Component
+public class EntityCacheEvictor {
+    // 네이티브 카운터 update의 쿼리 공간 (@QueryHint HINT_NATIVE_SPACES) - 어떤 테이블 이름과도 겹치지 않아야 함
+    public static final String COUNTERS = "sbb_counters";
+
+    private final Cache cache;
+
+    public EntityCacheEvictor(EntityManagerFactory entityManagerFactory) {
+        this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+
+    public void evict(Class<?> entityClass, Object id) {
+        afterTransaction(() -> this.cache.evictEntityData(entityClass, id));
+    }
+
+    // 쿼리 캐시 영역 전체 - 정렬 순서(추천순 등)가 바뀌는 경우
+    public void evictQueryRegion(String region) {
+        afterTransaction(() -> this.cache.evictQueryRegion(region));
+    }
+
+    private static void afterTransaction(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.run();
+                }
+            });
+        }
+    }
+}
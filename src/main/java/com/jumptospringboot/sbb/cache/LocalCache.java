@@ -0,0 +1,76 @@
+package com.jumptospringboot.sbb.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import javax.cache.Cache;
+import java.util.Iterator;
+import java.util.function.Predicate;
+
+// LocalCaches가 만든 JCache 캐시 - 조회 결과를 <이름>{result=hit|miss} 카운터로, 항목 수를 <이름>.size 게이지로 노출
+// 값은 복사하지 않고 그대로 보관하므로 여러 요청이 함께 써도 되는(바꾸지 않는) 값만 넣음
+public class LocalCache<K, V> {
+    private final Cache<K, V> cache;
+    private final Counter hits;
+    private final Counter misses;
+
+    LocalCache(Cache<K, V> cache, String name, String description, MeterRegistry meterRegistry) {
+        this.cache = cache;
+        this.hits = Counter.builder(name)
+                .tag("result", "hit")
+                .description(description + " 조회 결과")
+                .register(meterRegistry);
+        this.misses = Counter.builder(name)
+                .tag("result", "miss")
+                .description(description + " 조회 결과")
+                .register(meterRegistry);
+        Gauge.builder(name + ".size", this, LocalCache::size)
+                .description(description + " 항목 수")
+                .register(meterRegistry);
+    }
+
+    // 없거나 유효 시간이 지났으면 null
+    public V get(K key) {
+        return get(key, value -> true);
+    }
+
+    // 있더라도 usable이 false면 없는 것으로 봄 (예: 이전 버전으로 만든 항목)
+    public V get(K key, Predicate<? super V> usable) {
+        V value = this.cache.get(key);
+        if (value != null && usable.test(value)) {
+            this.hits.increment();
+            return value;
+        }
+        this.misses.increment();
+        return null;
+    }
+
+    public void put(K key, V value) {
+        this.cache.put(key, value);
+    }
+
+    public void remove(K key) {
+        this.cache.remove(key);
+    }
+
+    public void removeIf(Predicate<? super V> filter) {
+        for (Iterator<Cache.Entry<K, V>> entries = this.cache.iterator(); entries.hasNext(); ) {
+            if (filter.test(entries.next().getValue())) {
+                entries.remove();
+            }
+        }
+    }
+
+    public void clear() {
+        this.cache.clear();
+    }
+
+    private int size() {
+        int size = 0;
+        for (Cache.Entry<K, V> ignored : this.cache) {
+            size++;
+        }
+        return size;
+    }
+}
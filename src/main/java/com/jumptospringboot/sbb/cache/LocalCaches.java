@@ -0,0 +1,44 @@
+package com.jumptospringboot.sbb.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.springframework.stereotype.Component;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+
+// 애플리케이션 캐시(로그인 사용자, 목록 표, 검색어별 질문 수, 마크다운 변환 결과)를 만드는 곳
+// 2차 캐시와 같은 JCache(Ehcache)를 사용하되, 하이버네이트 영역과 섞이지 않도록 캐시 매니저를 따로 만듦
+// 캐시마다 최대 개수(가득 차면 Ehcache가 덜 쓰인 항목부터 내보냄)와 유효 시간을 지정
+@Component
+public class LocalCaches {
+    private final CacheManager cacheManager;
+    private final MeterRegistry meterRegistry;
+
+    public LocalCaches(MeterRegistry meterRegistry) {
+        EhcacheCachingProvider provider = new EhcacheCachingProvider();
+        this.cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+        this.meterRegistry = meterRegistry;
+    }
+
+    // name은 캐시 이름이자 메트릭 이름 - ttl이 null이면 만료시키지 않음
+    public <K, V> LocalCache<K, V> create(String name, String description, Class<K> keyType, Class<V> valueType,
+                                          long maxEntries, Duration ttl) {
+        return new LocalCache<>(this.cacheManager.createCache(name, Eh107Configuration.fromEhcacheCacheConfiguration(
+                CacheConfigurationBuilder.newCacheConfigurationBuilder(keyType, valueType,
+                                ResourcePoolsBuilder.heap(maxEntries))
+                        .withExpiry(ttl == null ? ExpiryPolicyBuilder.noExpiration()
+                                : ExpiryPolicyBuilder.timeToLiveExpiration(ttl)))),
+                name, description, this.meterRegistry);
+    }
+
+    @PreDestroy
+    public void close() {
+        this.cacheManager.close();
+    }
+}
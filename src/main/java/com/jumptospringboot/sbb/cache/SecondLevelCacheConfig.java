@@ -0,0 +1,103 @@
+package com.jumptospringboot.sbb.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+import java.util.List;
+
+// 하이버네이트 2차 캐시(JCache + Ehcache) - 사용자, 질문, 답변 엔티티와 컬렉션, 답변 페이지 쿼리 결과를 메모리에 보관
+// 영역(region)마다 최대 개수와 유효 시간을 sbb.l2-cache.<영역>.max-entries / ttl로 설정하고, 가득 차면 Ehcache가 덜 쓰인 항목부터 내보냄
+// 영역별 적중률은 sbb.l2cache.hit.ratio{region} 게이지로 노출 (하이버네이트 통계 generate_statistics 사용)
+@Configuration(proxyBeanMethods = false)
+public class SecondLevelCacheConfig {
+    public static final String USER = "sbb.user";
+    public static final String QUESTION = "sbb.question";
+    public static final String ANSWER = "sbb.answer";
+    public static final String COLLECTION = "sbb.collection";
+    public static final String ANSWER_PAGE = "sbb.answer-page";
+
+    private static final List<String> REGIONS = List.of(USER, QUESTION, ANSWER, COLLECTION, ANSWER_PAGE);
+
+    // 영역을 지정하지 않은 쿼리 캐시용 기본 영역 - 쿼리 캐시를 쓰는 쿼리는 모두 영역을 지정하므로 작게 둠
+    private static final String DEFAULT_QUERY_RESULTS = "default-query-results-region";
+    // 테이블별 마지막 변경 시각 - 지워지면 쿼리 캐시가 변경 전 결과를 돌려줄 수 있으므로 만료시키지 않음
+    private static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+
+    // 영역을 미리 만들어서 하이버네이트에 넘김 - 설정하지 않은 영역을 쓰면 기동 시 실패(missing_cache_strategy: fail)
+    // 테스트처럼 한 JVM에서 컨텍스트를 여러 개 띄워도 영역이 겹치지 않도록 컨텍스트마다 캐시 매니저를 새로 만듦
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(Environment environment) {
+        EhcacheCachingProvider provider = new EhcacheCachingProvider();
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+        for (String region : REGIONS) {
+            String prefix = "sbb.l2-cache." + region.substring("sbb.".length()) + ".";
+            createCache(cacheManager, region,
+                    environment.getProperty(prefix + "max-entries", Long.class, 10000L),
+                    environment.getProperty(prefix + "ttl", Duration.class, Duration.ofMinutes(10)));
+        }
+        createCache(cacheManager, DEFAULT_QUERY_RESULTS, 1000, Duration.ofMinutes(10));
+        createCache(cacheManager, UPDATE_TIMESTAMPS, Long.MAX_VALUE, null);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheProperties(CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.put("hibernate.cache.use_second_level_cache", true);
+            properties.put("hibernate.cache.use_query_cache", true);
+            properties.put("hibernate.cache.region.factory_class", "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    @Bean
+    public SmartInitializingSingleton secondLevelCacheMetrics(EntityManagerFactory entityManagerFactory,
+                                                              MeterRegistry meterRegistry) {
+        return () -> {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            for (String region : REGIONS) {
+                Gauge.builder("sbb.l2cache.hit.ratio", statistics, stats -> hitRatio(stats, region))
+                        .description("2차 캐시 영역별 적중률 (기동 후 누적)")
+                        .tag("region", region)
+                        .register(meterRegistry);
+            }
+        };
+    }
+
+    private static void createCache(CacheManager cacheManager, String region, long maxEntries, Duration ttl) {
+        cacheManager.createCache(region, Eh107Configuration.fromEhcacheCacheConfiguration(
+                CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class,
+                                ResourcePoolsBuilder.heap(maxEntries))
+                        .withExpiry(ttl == null ? ExpiryPolicyBuilder.noExpiration()
+                                : ExpiryPolicyBuilder.timeToLiveExpiration(ttl))));
+    }
+
+    private static double hitRatio(Statistics statistics, String region) {
+        CacheRegionStatistics stats = region.equals(ANSWER_PAGE)
+                ? statistics.getQueryRegionStatistics(region)
+                : statistics.getDomainDataRegionStatistics(region);
+        if (stats == null) {
+            return 0;
+        }
+        long requests = stats.getHitCount() + stats.getMissCount();
+        return requests == 0 ? 0 : (double) stats.getHitCount() / requests;
+    }
+}
@@ -0,0 +1,245 @@
+package com.jumptospringboot.sbb.datagen;
+
+import com.jumptospringboot.sbb.CommonUtil;
+import com.jumptospringboot.sbb.SequenceAligner;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+// 대용량 테스트 데이터 생성기 - datagen 프로필에서만 동작
+// 예) ./gradlew bootRun --args='--spring.profiles.active=dev,datagen --sbb.datagen.questions=1000000'
+// 서비스를 거치지 않고 JdbcTemplate 배치 INSERT로 사용자, 질문, 답변, 추천을 한꺼번에 저장하며
+// 생성이 끝난 뒤(ApplicationReadyEvent)에 검색 색인 재구축과 카운터 보정이 평소처럼 실행됨
+@Slf4j
+@Profile("datagen")
+@Component
+public class DataGenerator implements ApplicationRunner {
+    private static final String INSERT_USER =
+            "insert into site_user (id, username, email, password) values (?, ?, ?, ?)";
+    private static final String INSERT_QUESTION = "insert into question "
+            + "(id, subject, content, content_html, create_date, author_id, answer_count, vote_count, view_count) "
+            + "values (?, ?, ?, ?, ?, ?, ?, ?, 0)";
+    private static final String INSERT_ANSWER = "insert into answer "
+            + "(id, content, content_html, create_date, question_id, author_id, vote_count) "
+            + "values (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_QUESTION_VOTER = "insert into question_voter (question_id, voter_id) values (?, ?)";
+    private static final String INSERT_ANSWER_VOTER = "insert into answer_voter (answer_id, voter_id) values (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final CommonUtil commonUtil;
+    private final SequenceAligner sequenceAligner;
+
+    private final int users;
+    private final int questions;
+    private final double answersPerQuestion;
+    private final double votesPerQuestion;
+    private final double votesPerAnswer;
+    private final int contentLength;
+    private final int days;
+    private final int batchSize;
+    private final long seed;
+    private final String password;
+    private final boolean renderHtml;
+    private final boolean append;
+
+    public DataGenerator(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                         PasswordEncoder passwordEncoder, CommonUtil commonUtil, SequenceAligner sequenceAligner,
+                         @Value("${sbb.datagen.users:10000}") int users,
+                         @Value("${sbb.datagen.questions:100000}") int questions,
+                         @Value("${sbb.datagen.answers-per-question:3}") double answersPerQuestion,
+                         @Value("${sbb.datagen.votes-per-question:2}") double votesPerQuestion,
+                         @Value("${sbb.datagen.votes-per-answer:1}") double votesPerAnswer,
+                         @Value("${sbb.datagen.content-length:400}") int contentLength,
+                         @Value("${sbb.datagen.days:365}") int days,
+                         @Value("${sbb.datagen.batch-size:1000}") int batchSize,
+                         @Value("${sbb.datagen.seed:42}") long seed,
+                         @Value("${sbb.datagen.password:1234}") String password,
+                         @Value("${sbb.datagen.render-html:true}") boolean renderHtml,
+                         @Value("${sbb.datagen.append:false}") boolean append) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.commonUtil = commonUtil;
+        this.sequenceAligner = sequenceAligner;
+        this.users = users;
+        this.questions = questions;
+        this.answersPerQuestion = answersPerQuestion;
+        this.votesPerQuestion = votesPerQuestion;
+        this.votesPerAnswer = votesPerAnswer;
+        this.contentLength = contentLength;
+        this.days = days;
+        this.batchSize = batchSize;
+        this.seed = seed;
+        this.password = password;
+        this.renderHtml = renderHtml;
+        this.append = append;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Integer existing = this.jdbcTemplate.queryForObject("select count(*) from question", Integer.class);
+        if (existing != null && existing > 0 && !this.append) {
+            log.info("datagen skipped: question table already has {} rows (set sbb.datagen.append=true to add more)", existing);
+            return;
+        }
+
+        long start = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(this.seed);
+        // id는 시퀀스에서 미리 받아 둔 값을 사용하므로 엔티티로 저장되는 행과 겹치지 않음
+        SequenceAligner.Ids userIds = this.sequenceAligner.reserve("site_user", this.users);
+        generateUsers(userIds);
+        long rows = this.users + generatePosts(random, userIds);
+        log.info("datagen finished: {} rows in {} s", rows, (System.nanoTime() - start) / 1_000_000_000);
+    }
+
+    // 비밀번호는 모두 같으므로 BCrypt는 한 번만 계산 - 부하 테스트에서 user{n} / 비밀번호로 로그인 가능
+    private void generateUsers(SequenceAligner.Ids userIds) {
+        String encoded = this.passwordEncoder.encode(this.password);
+        long start = System.nanoTime();
+        for (int from = 0; from < this.users; from += this.batchSize) {
+            List<Object[]> batch = new ArrayList<>(this.batchSize);
+            for (int i = from; i < Math.min(from + this.batchSize, this.users); i++) {
+                long id = userIds.id(i);
+                batch.add(new Object[]{id, "user" + id, "user" + id + "@sbb.com", encoded});
+            }
+            this.transactionTemplate.executeWithoutResult(status -> this.jdbcTemplate.batchUpdate(INSERT_USER, batch));
+        }
+        log.info("datagen users: {} rows, {} rows/s", this.users, rate(this.users, start));
+    }
+
+    // 질문 batchSize개와 그 답변, 추천을 한 트랜잭션으로 저장
+    private long generatePosts(SplittableRandom random, SequenceAligner.Ids userIds) {
+        SequenceAligner.Ids questionIds = this.sequenceAligner.reserve("question", this.questions);
+        LocalDateTime from = LocalDateTime.now().minusDays(this.days);
+        long secondsPerQuestion = Math.max(1, this.days * 86_400L / Math.max(1, this.questions));
+
+        long rows = 0;
+        long start = System.nanoTime();
+        long lastLog = start;
+        for (int offset = 0; offset < this.questions; offset += this.batchSize) {
+            List<Object[]> questionRows = new ArrayList<>(this.batchSize);
+            List<Object[]> answerRows = new ArrayList<>();
+            List<Object[]> questionVoterRows = new ArrayList<>();
+            List<Object[]> answerVoterRows = new ArrayList<>();
+
+            int end = Math.min(offset + this.batchSize, this.questions);
+            int[] answerCounts = new int[end - offset];
+            long totalAnswers = 0;
+            for (int i = 0; i < answerCounts.length; i++) {
+                answerCounts[i] = geometric(random, this.answersPerQuestion);
+                totalAnswers += answerCounts[i];
+            }
+            SequenceAligner.Ids answerIds = this.sequenceAligner.reserve("answer", totalAnswers);
+            long answerIndex = 0;
+
+            for (int i = offset; i < end; i++) {
+                long questionId = questionIds.id(i);
+                // 작성일시는 id 순서대로 증가 - 목록의 (createDate, id) 정렬과 실제 데이터의 순서가 일치
+                LocalDateTime createDate = from.plusSeconds(i * secondsPerQuestion + random.nextLong(secondsPerQuestion));
+                int answers = answerCounts[i - offset];
+                Set<Long> questionVoters = voters(random, userIds, pareto(random, this.votesPerQuestion));
+                String content = KoreanText.content(random, length(random));
+                questionRows.add(new Object[]{questionId, KoreanText.subject(random), content, html(content),
+                        Timestamp.valueOf(createDate), author(random, userIds), answers, questionVoters.size()});
+                questionVoters.forEach(voter -> questionVoterRows.add(new Object[]{questionId, voter}));
+
+                LocalDateTime answerDate = createDate;
+                for (int a = 0; a < answers; a++) {
+                    long answerId = answerIds.id(answerIndex++);
+                    answerDate = answerDate.plusSeconds(1 + random.nextLong(3600));
+                    Set<Long> answerVoters = voters(random, userIds, pareto(random, this.votesPerAnswer));
+                    String answerContent = KoreanText.content(random, length(random) / 2);
+                    answerRows.add(new Object[]{answerId, answerContent, html(answerContent), Timestamp.valueOf(answerDate),
+                            questionId, author(random, userIds), answerVoters.size()});
+                    answerVoters.forEach(voter -> answerVoterRows.add(new Object[]{answerId, voter}));
+                }
+            }
+
+            this.transactionTemplate.executeWithoutResult(status -> {
+                this.jdbcTemplate.batchUpdate(INSERT_QUESTION, questionRows);
+                this.jdbcTemplate.batchUpdate(INSERT_ANSWER, answerRows);
+                this.jdbcTemplate.batchUpdate(INSERT_QUESTION_VOTER, questionVoterRows);
+                this.jdbcTemplate.batchUpdate(INSERT_ANSWER_VOTER, answerVoterRows);
+            });
+            rows += questionRows.size() + answerRows.size() + questionVoterRows.size() + answerVoterRows.size();
+
+            long now = System.nanoTime();
+            if (now - lastLog > 5_000_000_000L) {
+                log.info("datagen progress: {}/{} questions, {} rows, {} rows/s",
+                        Math.min(offset + this.batchSize, this.questions), this.questions, rows, rate(rows, start));
+                lastLog = now;
+            }
+        }
+        log.info("datagen posts: {} rows, {} rows/s", rows, rate(rows, start));
+        return rows;
+    }
+
+    // 답변 수 - 평균이 mean인 기하 분포 (답변이 없는 질문이 가장 많고 많을수록 드묾)
+    private static int geometric(SplittableRandom random, double mean) {
+        if (mean <= 0) {
+            return 0;
+        }
+        double p = 1.0 / (mean + 1.0);
+        return (int) Math.floor(Math.log(1.0 - random.nextDouble()) / Math.log(1.0 - p));
+    }
+
+    // 추천 수 - 평균이 mean인 파레토(Lomax) 분포 (대부분 적고 일부 글에 추천이 몰림)
+    private static int pareto(SplittableRandom random, double mean) {
+        if (mean <= 0) {
+            return 0;
+        }
+        double alpha = 1.5;
+        double scale = mean * (alpha - 1.0);
+        return (int) Math.floor(scale * (Math.pow(1.0 - random.nextDouble(), -1.0 / alpha) - 1.0));
+    }
+
+    // 본문 길이 - 평균이 contentLength인 로그 정규 분포
+    private int length(SplittableRandom random) {
+        double sigma = 0.8;
+        double mu = Math.log(this.contentLength) - sigma * sigma / 2;
+        return (int) Math.max(10, Math.min(20_000, Math.exp(mu + sigma * gaussian(random))));
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        return Math.sqrt(-2.0 * Math.log(1.0 - random.nextDouble())) * Math.cos(2.0 * Math.PI * random.nextDouble());
+    }
+
+    // 서로 다른 추천인 count명 (사용자 수를 넘지 않음)
+    private Set<Long> voters(SplittableRandom random, SequenceAligner.Ids userIds, int count) {
+        int n = Math.min(count, this.users);
+        Set<Long> voters = new HashSet<>(n * 2);
+        while (voters.size() < n) {
+            voters.add(userIds.id(random.nextInt(this.users)));
+        }
+        return voters;
+    }
+
+    private Long author(SplittableRandom random, SequenceAligner.Ids userIds) {
+        return this.users == 0 ? null : userIds.id(random.nextInt(this.users));
+    }
+
+    private String html(String content) {
+        return this.renderHtml ? this.commonUtil.render(content) : null;
+    }
+
+    private static long rate(long rows, long startNanos) {
+        long elapsed = Math.max(1, System.nanoTime() - startNanos);
+        return rows * 1_000_000_000L / elapsed;
+    }
+}
@@ -0,0 +1,59 @@
+package com.jumptospringboot.sbb.datagen;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+// 테스트 데이터용 한국어 문장 생성기
+// 실제 게시판 글처럼 자주 쓰는 단어와 조사를 섞고, 가끔 마크다운 문법(굵게, 코드, 목록)을 넣음
+final class KoreanText {
+    private static final List<String> NOUNS = List.of(
+            "스프링부트", "자바", "파이썬", "데이터베이스", "트랜잭션", "인덱스", "캐시", "템플릿", "보안", "로그인",
+            "회원가입", "질문", "답변", "게시판", "페이징", "검색", "서버", "클라이언트", "쿼리", "엔티티",
+            "리포지터리", "컨트롤러", "서비스", "예외", "배포", "테스트", "성능", "메모리", "스레드", "커넥션",
+            "설정", "의존성", "빌드", "그레이들", "타임리프", "마크다운", "세션", "쿠키", "토큰", "프로젝트");
+    private static final List<String> PARTICLES = List.of("이", "가", "을", "를", "은", "는", "에서", "으로", "와", "의");
+    private static final List<String> ENDINGS = List.of(
+            "안 됩니다.", "궁금합니다.", "어떻게 해야 하나요?", "오류가 납니다.", "잘 동작합니다.",
+            "설정했습니다.", "확인해 보세요.", "문제가 있습니다.", "해결했습니다.", "느립니다.");
+
+    private KoreanText() {
+    }
+
+    // 제목 - 단어 2~4개와 문장 끝맺음
+    static String subject(RandomGenerator random) {
+        StringBuilder sb = new StringBuilder();
+        int words = 2 + random.nextInt(3);
+        for (int i = 0; i < words; i++) {
+            sb.append(pick(random, NOUNS)).append(pick(random, PARTICLES)).append(' ');
+        }
+        return sb.append(pick(random, ENDINGS)).toString();
+    }
+
+    // 본문 - 대략 length 글자가 될 때까지 문장을 이어 붙임
+    static String content(RandomGenerator random, int length) {
+        StringBuilder sb = new StringBuilder(length + 64);
+        int sentences = 0;
+        while (sb.length() < length) {
+            int kind = random.nextInt(20);
+            if (kind == 0) {
+                sb.append("- ").append(pick(random, NOUNS)).append('\n')
+                        .append("- ").append(pick(random, NOUNS)).append("\n\n");
+            } else if (kind == 1) {
+                sb.append('`').append(pick(random, NOUNS)).append("` ");
+            } else if (kind == 2) {
+                sb.append("**").append(pick(random, NOUNS)).append("** ");
+            }
+            int words = 3 + random.nextInt(5);
+            for (int i = 0; i < words; i++) {
+                sb.append(pick(random, NOUNS)).append(pick(random, PARTICLES)).append(' ');
+            }
+            sb.append(pick(random, ENDINGS));
+            sb.append(++sentences % 4 == 0 ? "\n\n" : " ");
+        }
+        return sb.toString();
+    }
+
+    private static String pick(RandomGenerator random, List<String> words) {
+        return words.get(random.nextInt(words.size()));
+    }
+}
@@ -0,0 +1,29 @@
+package com.jumptospringboot.sbb.importer;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+// 기동할 때 NDJSON 파일을 가져옴 - import 프로필에서만 동작
+// 예) ./gradlew bootRun --args='--spring.profiles.active=dev,import --sbb.import.file=questions.ndjson'
+// 한 줄에 질문 하나: {"subject": ..., "content": ..., "author": "user1", "createDate": "2024-01-01T10:00:00",
+//                   "voters": ["user2"], "answers": [{"content": ..., "author": ..., "createDate": ..., "voters": [...]}]}
+@RequiredArgsConstructor
+@Profile("import")
+@Component
+public class BulkImportRunner implements ApplicationRunner {
+    private final BulkImporter bulkImporter;
+
+    @Value("${sbb.import.file}")
+    private String file;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        this.bulkImporter.importFile(Path.of(this.file));
+    }
+}
@@ -0,0 +1,275 @@
+package com.jumptospringboot.sbb.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jumptospringboot.sbb.CommonUtil;
+import com.jumptospringboot.sbb.answer.Answer;
+import com.jumptospringboot.sbb.question.Question;
+import com.jumptospringboot.sbb.question.QuestionChangedEvent;
+import com.jumptospringboot.sbb.question.QuestionCount;
+import com.jumptospringboot.sbb.search.SearchIndex;
+import com.jumptospringboot.sbb.user.SiteUser;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+// NDJSON 파일에서 질문, 답변, 추천을 일괄로 가져옴
+// 한 줄씩 읽어서 chunk-size개의 질문마다 한 트랜잭션으로 저장 - 시퀀스 id(pooled)와 hibernate.jdbc.batch_size로 배치 INSERT됨
+// chunk를 저장하는 트랜잭션에서 처리한 줄 번호도 체크포인트(ImportCheckpoint)로 함께 저장하고,
+// 도중에 실패하면 같은 파일로 다시 실행했을 때 체크포인트 다음 줄부터 이어서 가져옴
+// 커밋된 chunk마다 QuestionChangedEvent를 발행해서 목록 캐시와 목록 ETag, 질문 수가 가져온 글을 반영하도록 함
+@Slf4j
+@Service
+public class BulkImporter {
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final CommonUtil commonUtil;
+    private final PasswordEncoder passwordEncoder;
+    private final SearchIndex searchIndex;
+    private final QuestionCount questionCount;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+
+    public BulkImporter(EntityManager entityManager, TransactionTemplate transactionTemplate, ObjectMapper objectMapper,
+                        CommonUtil commonUtil, PasswordEncoder passwordEncoder, SearchIndex searchIndex,
+                        QuestionCount questionCount, ApplicationEventPublisher eventPublisher,
+                        @Value("${sbb.import.chunk-size:500}") int chunkSize) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.commonUtil = commonUtil;
+        this.passwordEncoder = passwordEncoder;
+        this.searchIndex = searchIndex;
+        this.questionCount = questionCount;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+    }
+
+    public ImportResult importFile(Path file) throws IOException {
+        ImportCheckpoint checkpoint = readCheckpoint(file);
+        long skip = checkpoint.getLineNumber();
+        if (skip > 0) {
+            log.info("import {}: resuming after line {}", file, skip);
+        }
+
+        long start = System.currentTimeMillis();
+        Counts total = new Counts();
+        // 사용자명 => id (가져오기 전체에서 공유해서 같은 사용자를 다시 조회하지 않음)
+        Map<String, Long> userIds = new HashMap<>();
+        // 가져온 사용자는 비밀번호를 알 수 없도록 임의의 값으로 만듦
+        String unusablePassword = this.passwordEncoder.encode(UUID.randomUUID().toString());
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            long lineNumber = 0;
+            String line;
+            while (lineNumber < skip && reader.readLine() != null) {
+                lineNumber++;
+            }
+
+            List<ImportQuestion> chunk = new ArrayList<>(this.chunkSize);
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (!line.isBlank()) {
+                    chunk.add(parse(line, lineNumber));
+                }
+                if (chunk.size() == this.chunkSize) {
+                    checkpoint.setLineNumber(lineNumber);
+                    commit(chunk, checkpoint, userIds, unusablePassword, total);
+                    log.info("import {}: {} lines, {} rows, {} rows/s", file.getFileName(), lineNumber, total.rows(),
+                            total.rows() * 1000 / Math.max(1, System.currentTimeMillis() - start));
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                checkpoint.setLineNumber(lineNumber);
+                commit(chunk, checkpoint, userIds, unusablePassword, total);
+            }
+        }
+        // 끝까지 가져왔으면 체크포인트를 지움 - 지우기 전에 중단되어도 다시 실행하면 가져올 줄 없이 여기로 옴
+        this.transactionTemplate.executeWithoutResult(status -> this.entityManager.createQuery(
+                        "delete from ImportCheckpoint c where c.path = :path")
+                .setParameter("path", checkpoint.getPath())
+                .executeUpdate());
+
+        ImportResult result = new ImportResult(total.questions, total.answers, total.users, total.votes, skip,
+                System.currentTimeMillis() - start);
+        log.info("import {} finished: {} questions, {} answers, {} users, {} votes, {} rows/s",
+                file.getFileName(), result.questions(), result.answers(), result.users(), result.votes(),
+                result.rowsPerSecond());
+        // 가져온 글이 검색되도록 색인을 다시 만듦
+        this.searchIndex.rebuild();
+        return result;
+    }
+
+    // 질문 chunk-size개와 체크포인트를 한 트랜잭션으로 저장하고 영속성 컨텍스트를 비움 (메모리가 계속 늘지 않도록)
+    private void commit(List<ImportQuestion> chunk, ImportCheckpoint checkpoint, Map<String, Long> userIds,
+                        String unusablePassword, Counts total) {
+        this.transactionTemplate.executeWithoutResult(status -> {
+            Counts counts = new Counts();
+            resolveUsers(chunk, userIds, unusablePassword, counts);
+            for (ImportQuestion source : chunk) {
+                Question question = new Question();
+                question.setSubject(source.subject());
+                question.setContent(source.content());
+                question.setContentHtml(this.commonUtil.render(source.content()));
+                question.setCreateDate(source.createDate());
+                question.setAuthor(reference(source.author(), userIds));
+                Set<SiteUser> voters = references(source.voters(), userIds);
+                question.setVoter(voters);
+                question.setVoteCount(voters.size());
+                List<ImportQuestion.ImportAnswer> answers = source.answers() == null ? List.of() : source.answers();
+                question.setAnswerCount(answers.size());
+                this.entityManager.persist(question);
+                counts.questions++;
+                counts.votes += voters.size();
+
+                for (ImportQuestion.ImportAnswer answerSource : answers) {
+                    Answer answer = new Answer();
+                    answer.setQuestion(question);
+                    answer.setContent(answerSource.content());
+                    answer.setContentHtml(this.commonUtil.render(answerSource.content()));
+                    answer.setCreateDate(answerSource.createDate());
+                    answer.setAuthor(reference(answerSource.author(), userIds));
+                    Set<SiteUser> answerVoters = references(answerSource.voters(), userIds);
+                    answer.setVoter(answerVoters);
+                    answer.setVoteCount(answerVoters.size());
+                    this.entityManager.persist(answer);
+                    counts.answers++;
+                    counts.votes += answerVoters.size();
+                }
+            }
+            this.entityManager.merge(checkpoint);
+            this.entityManager.flush();
+            this.entityManager.clear();
+            // 커밋된 뒤에 질문 수를 더하고 목록 캐시/ETag를 갱신 (롤백되면 반영되지 않음)
+            this.questionCount.add((int) counts.questions);
+            this.eventPublisher.publishEvent(new QuestionChangedEvent(null));
+            total.add(counts);
+        });
+    }
+
+    // chunk에 나오는 사용자명 중 처음 보는 것만 한 번에 조회하고, DB에도 없으면 새로 만듦
+    private void resolveUsers(List<ImportQuestion> chunk, Map<String, Long> userIds, String unusablePassword, Counts counts) {
+        Set<String> missing = new LinkedHashSet<>();
+        for (ImportQuestion source : chunk) {
+            collect(source.author(), source.voters(), userIds, missing);
+            if (source.answers() != null) {
+                source.answers().forEach(answer -> collect(answer.author(), answer.voters(), userIds, missing));
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        List<String> names = new ArrayList<>(missing);
+        for (int from = 0; from < names.size(); from += 1000) {
+            this.entityManager.createQuery(
+                            "select u.username, u.id from SiteUser u where u.username in :names", Object[].class)
+                    .setParameter("names", names.subList(from, Math.min(from + 1000, names.size())))
+                    .getResultList()
+                    .forEach(row -> userIds.put((String) row[0], (Long) row[1]));
+        }
+        for (String username : names) {
+            if (!userIds.containsKey(username)) {
+                SiteUser user = new SiteUser();
+                user.setUsername(username);
+                user.setPassword(unusablePassword);
+                this.entityManager.persist(user); // 시퀀스에서 미리 받아 둔 id가 바로 할당됨
+                userIds.put(username, user.getId());
+                counts.users++;
+            }
+        }
+    }
+
+    private static void collect(String author, List<String> voters, Map<String, Long> userIds, Set<String> missing) {
+        if (author != null && !userIds.containsKey(author)) {
+            missing.add(author);
+        }
+        if (voters != null) {
+            voters.stream().filter(voter -> !userIds.containsKey(voter)).forEach(missing::add);
+        }
+    }
+
+    // 외래키만 필요하므로 SELECT 없이 id만 가진 참조 객체를 사용
+    private SiteUser reference(String username, Map<String, Long> userIds) {
+        return username == null ? null : this.entityManager.getReference(SiteUser.class, userIds.get(username));
+    }
+
+    private Set<SiteUser> references(List<String> usernames, Map<String, Long> userIds) {
+        Set<SiteUser> result = new LinkedHashSet<>();
+        if (usernames != null) {
+            new LinkedHashSet<>(usernames).forEach(username -> result.add(reference(username, userIds)));
+        }
+        return result;
+    }
+
+    // 작성일시는 목록/검색의 정렬 기준(createDate, id)이므로 없으면 거부 - null이면 커서를 만들 수 없고 정렬 위치도 정해지지 않음
+    private ImportQuestion parse(String line, long lineNumber) {
+        ImportQuestion question;
+        try {
+            question = this.objectMapper.readValue(line, ImportQuestion.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("invalid import line " + lineNumber + ": " + e.getOriginalMessage(), e);
+        }
+        if (question.createDate() == null || question.answers() != null
+                && question.answers().stream().anyMatch(answer -> answer.createDate() == null)) {
+            throw new IllegalArgumentException("invalid import line " + lineNumber + ": createDate is required");
+        }
+        return question;
+    }
+
+    // 체크포인트: 커밋한 마지막 줄 번호, 파일 크기, 수정 시각 - 파일이 바뀌었으면 이어서 가져오지 않음
+    // 없으면 처음부터 가져오는 새 체크포인트
+    private ImportCheckpoint readCheckpoint(Path file) throws IOException {
+        String path = file.toAbsolutePath().normalize().toString();
+        long fileSize = Files.size(file);
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        ImportCheckpoint checkpoint = this.transactionTemplate.execute(
+                status -> this.entityManager.find(ImportCheckpoint.class, path));
+        if (checkpoint == null) {
+            checkpoint = new ImportCheckpoint();
+            checkpoint.setPath(path);
+            checkpoint.setFileSize(fileSize);
+            checkpoint.setLastModified(lastModified);
+        } else if (checkpoint.getFileSize() != fileSize || checkpoint.getLastModified() != lastModified) {
+            throw new IllegalStateException("import checkpoint for " + path + " does not match the file"
+                    + " - delete it from import_checkpoint to import the file from the beginning");
+        }
+        return checkpoint;
+    }
+
+    private static final class Counts {
+        private long questions;
+        private long answers;
+        private long users;
+        private long votes;
+
+        long rows() {
+            return questions + answers + users + votes;
+        }
+
+        void add(Counts other) {
+            questions += other.questions;
+            answers += other.answers;
+            users += other.users;
+            votes += other.votes;
+        }
+    }
+}
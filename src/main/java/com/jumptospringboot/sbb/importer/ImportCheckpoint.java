@@ -0,0 +1,26 @@
+package com.jumptospringboot.sbb.importer;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.Getter;
+import lombok.Setter;
+
+// 가져오기 체크포인트 - 파일마다 커밋한 마지막 줄 번호
+// chunk와 같은 트랜잭션에서 저장하므로 저장된 줄과 체크포인트가 항상 함께 커밋됨 (중간에 중단되어도 중복 저장 없음)
+// 파일 크기와 수정 시각이 다르면 다른 파일로 보고 이어서 가져오지 않음
+@Getter
+@Setter
+@Entity
+public class ImportCheckpoint {
+    // 파일의 절대 경로
+    @Id
+    @Column(length = 1000)
+    private String path;
+
+    private long lineNumber;
+
+    private long fileSize;
+
+    private long lastModified;
+}
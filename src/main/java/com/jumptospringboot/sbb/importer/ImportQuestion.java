@@ -0,0 +1,15 @@
+package com.jumptospringboot.sbb.importer;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// 일괄 가져오기 파일(NDJSON)의 한 줄 - 질문 하나와 그 답변, 추천인
+// 예) {"subject":"...","content":"...","author":"kim","createDate":"2020-01-01T10:00:00",
+//      "voters":["lee"],"answers":[{"content":"...","author":"lee","createDate":"...","voters":[]}]}
+// author와 voters는 사용자명 - 없는 사용자는 가져오기 중에 만들어짐
+public record ImportQuestion(String subject, String content, String author, LocalDateTime createDate,
+                             List<String> voters, List<ImportAnswer> answers) {
+
+    public record ImportAnswer(String content, String author, LocalDateTime createDate, List<String> voters) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.jumptospringboot.sbb.importer;
+
+// 일괄 가져오기 결과 - 이번 실행에서 저장한 행 수와 건너뛴(이전 실행에서 이미 저장한) 줄 수
+public record ImportResult(long questions, long answers, long users, long votes, long skippedLines, long millis) {
+
+    public long rows() {
+        return questions + answers + users + votes;
+    }
+
+    public long rowsPerSecond() {
+        return rows() * 1000 / Math.max(1, millis);
+    }
+}
@@ -0,0 +1,14 @@
+package com.jumptospringboot.sbb.metrics;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 컨트롤러 메서드(요청 하나)가 실행할 수 있는 최대 SQL 수
+// 넘으면 QueryCountFilter가 반복된 SQL과 함께 로그를 남기고, sbb.query-budget.fail=true(테스트)이면 요청을 실패시킴
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+    int value();
+}
@@ -0,0 +1,9 @@
+package com.jumptospringboot.sbb.metrics;
+
+// 요청이 @QueryBudget보다 많은 SQL을 실행함 (sbb.query-budget.fail=true일 때만 발생)
+public class QueryBudgetExceededException extends IllegalStateException {
+    private static final long serialVersionUID = 1L;
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
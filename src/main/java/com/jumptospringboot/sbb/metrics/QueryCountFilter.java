@@ -0,0 +1,77 @@
+package com.jumptospringboot.sbb.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 요청당 SQL 수 - 컨트롤러와 템플릿 렌더링까지 포함하도록 요청 전체를 감쌈
+// sbb.request.queries{method, uri} 분포로 기록 (uri는 /question/detail/{id}처럼 매핑된 패턴)
+// 컨트롤러 메서드에 @QueryBudget이 있으면 SQL 수를 검사해서 넘으면 반복된 SQL과 함께 경고 로그를 남김
+// sbb.query-budget.fail=true(테스트 프로필)이면 예외를 던져서 요청(테스트)을 실패시킴
+@Slf4j
+@Component
+public class QueryCountFilter extends OncePerRequestFilter {
+    private final MeterRegistry meterRegistry;
+    private final boolean fail;
+    // (HTTP 메서드, uri 패턴) => 분포
+    private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    public QueryCountFilter(MeterRegistry meterRegistry, @Value("${sbb.query-budget.fail:false}") boolean fail) {
+        this.meterRegistry = meterRegistry;
+        this.fail = fail;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryCounter counter = QueryCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryCounter.stop();
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        String method = request.getMethod();
+        summaries.computeIfAbsent(method + " " + uri, key -> DistributionSummary.builder("sbb.request.queries")
+                        .description("요청당 실행한 SQL 수")
+                        .baseUnit("queries")
+                        .tag("method", method)
+                        .tag("uri", uri)
+                        .register(meterRegistry))
+                .record(counter.count());
+        checkBudget(request, counter);
+    }
+
+    private void checkBudget(HttpServletRequest request, QueryCounter counter) {
+        if (!(request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler)) {
+            return;
+        }
+        QueryBudget budget = handler.getMethodAnnotation(QueryBudget.class);
+        if (budget == null || counter.count() <= budget.value()) {
+            return;
+        }
+        String query = request.getQueryString() == null ? "" : "?" + request.getQueryString();
+        List<String> repeated = counter.repeated();
+        String message = String.format("%s %s%s executed %d queries (budget %d) - repeated: %s", request.getMethod(),
+                request.getRequestURI(), query, counter.count(), budget.value(), repeated.isEmpty() ? "none" : repeated);
+        if (fail) {
+            throw new QueryBudgetExceededException(message);
+        }
+        log.warn(message);
+    }
+}
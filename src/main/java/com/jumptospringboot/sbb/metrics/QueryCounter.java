@@ -0,0 +1,53 @@
+package com.jumptospringboot.sbb.metrics;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 요청 하나가 실행한 SQL 기록 - 현재 스레드에 QueryCountFilter가 시작한 카운터가 있을 때만 기록함
+// JPA(Hibernate)와 JdbcTemplate 모두 QueryMonitoringDataSource를 거치므로 함께 셈 (요청 밖에서 실행된 SQL은 세지 않음)
+public final class QueryCounter {
+    private static final ThreadLocal<QueryCounter> CURRENT = new ThreadLocal<>();
+
+    private int count;
+    // SQL => 실행 횟수 (같은 SQL이 반복되면 N+1 의심)
+    private final Map<String, Integer> statements = new HashMap<>();
+
+    private QueryCounter() {
+    }
+
+    public static QueryCounter start() {
+        QueryCounter counter = new QueryCounter();
+        CURRENT.set(counter);
+        return counter;
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    static boolean active() {
+        return CURRENT.get() != null;
+    }
+
+    static void record(String sql) {
+        QueryCounter counter = CURRENT.get();
+        if (counter != null) {
+            counter.count++;
+            counter.statements.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    public int count() {
+        return count;
+    }
+
+    // 두 번 이상 실행된 SQL을 많이 실행된 순서로 "n x SQL" 형태로 리턴
+    public List<String> repeated() {
+        return statements.entrySet().stream()
+                .filter(entry -> entry.getValue() > 1)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .map(entry -> entry.getValue() + " x " + entry.getKey())
+                .toList();
+    }
+}
@@ -0,0 +1,169 @@
+package com.jumptospringboot.sbb.metrics;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// 커넥션에서 준비/실행하는 SQL을 기록하는 DataSource
+// - 요청당 SQL 수: QueryCounter (PreparedStatement는 준비할 때 한 번, Statement는 SQL을 실행할 때마다 셈)
+// - 느린 SQL 로그: SlowQueryLog (실행부터 Statement를 닫을 때까지의 시간, 바인딩 수, 변경된 행 수)
+// 실행과 닫기에서만 시간을 재고 ResultSet은 감싸지 않음 - 결과 행이 많아도 행마다(next) 드는 비용이 없음
+// 둘 다 꺼져 있으면(요청 밖이고 sbb.slow-query.enabled=false) 커넥션을 감싸지 않으므로 비용이 없음
+public class QueryMonitoringDataSource extends DelegatingDataSource {
+    private final ObjectProvider<SlowQueryLog> slowQueryLogProvider;
+    private volatile SlowQueryLog slowQueryLog;
+
+    public QueryMonitoringDataSource(DataSource targetDataSource, ObjectProvider<SlowQueryLog> slowQueryLogProvider) {
+        super(targetDataSource);
+        this.slowQueryLogProvider = slowQueryLogProvider;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        SlowQueryLog log = slowQueryLog();
+        if (!QueryCounter.active() && log == null) {
+            return connection;
+        }
+        return proxy(Connection.class, new ConnectionHandler(connection, log));
+    }
+
+    // 처음 커넥션을 얻을 때 한 번만 찾음 (DataSource가 SlowQueryLog보다 먼저 만들어지므로)
+    private SlowQueryLog slowQueryLog() {
+        SlowQueryLog log = this.slowQueryLog;
+        if (log == null) {
+            log = this.slowQueryLogProvider.getIfAvailable();
+            this.slowQueryLog = log;
+        }
+        return log != null && log.isEnabled() ? log : null;
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(QueryMonitoringDataSource.class.getClassLoader(),
+                new Class<?>[]{type}, handler));
+    }
+
+    private static Object call(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    // prepareStatement/prepareCall의 SQL을 세고, 만들어진 Statement를 감쌈
+    private record ConnectionHandler(Connection target, SlowQueryLog slowQueryLog) implements InvocationHandler {
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            String sql = null;
+            if (name.startsWith("prepare") && args != null && args[0] instanceof String prepared) {
+                sql = prepared;
+                QueryCounter.record(sql);
+            }
+            Object result = call(target, method, args);
+            if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                // PreparedStatement, CallableStatement, Statement 중 메서드가 리턴하는 타입으로 감쌈
+                return proxy(method.getReturnType(), new StatementHandler(statement, sql, slowQueryLog));
+            }
+            return result;
+        }
+    }
+
+    // 실행(execute...)부터 다음 실행이나 Statement를 닫을 때까지를 한 번의 실행으로 보고 SlowQueryLog에 기록
+    // (하이버네이트와 JdbcTemplate은 결과를 다 읽은 뒤 Statement를 닫으므로 결과를 읽는 시간도 포함됨)
+    private static final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final String preparedSql;
+        private final SlowQueryLog slowQueryLog;
+        private int binds;
+
+        // 기록하지 않은 마지막 실행
+        private String pendingSql;
+        private long pendingStart;
+        private long pendingRows;
+
+        private StatementHandler(Statement target, String preparedSql, SlowQueryLog slowQueryLog) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+            this.slowQueryLog = slowQueryLog;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            // 바인딩 파라미터 setXxx(번호, 값) - setFetchSize 같은 설정 메서드는 인자가 하나
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                binds = Math.max(binds, index);
+            } else if (name.startsWith("execute")) {
+                return execute(method, args);
+            } else if (name.equals("close")) {
+                finish();
+            }
+            return call(target, method, args);
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            finish();
+            String sql = preparedSql;
+            if (args != null && args.length > 0 && args[0] instanceof String executed) {
+                sql = executed;
+                QueryCounter.record(sql);
+            }
+            if (slowQueryLog == null) {
+                return call(target, method, args);
+            }
+            long start = System.nanoTime();
+            Object result = call(target, method, args);
+            pendingSql = sql;
+            pendingStart = start;
+            pendingRows = rows(result);
+            return result;
+        }
+
+        private void finish() {
+            if (pendingSql != null) {
+                slowQueryLog.record(pendingSql, binds, System.nanoTime() - pendingStart, pendingRows);
+                pendingSql = null;
+            }
+        }
+
+        // 변경된 행 수 (배치는 합계), 조회이거나 드라이버가 알려 주지 않으면 -1
+        private static long rows(Object result) {
+            if (result instanceof Number count) {
+                return count.longValue();
+            }
+            if (result instanceof int[] counts) {
+                long sum = 0;
+                for (int count : counts) {
+                    sum += Math.max(0, count);
+                }
+                return sum;
+            }
+            if (result instanceof long[] counts) {
+                long sum = 0;
+                for (long count : counts) {
+                    sum += Math.max(0, count);
+                }
+                return sum;
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.jumptospringboot.sbb.metrics;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+// 애플리케이션의 DataSource 빈을 QueryMonitoringDataSource로 감쌈
+// (커넥션 풀 메트릭 등은 DelegatingDataSource를 벗겨서 원래 HikariDataSource를 찾으므로 그대로 동작)
+// 다른 DataSource로 넘기기만 하는 DataSource(replica 프로필의 라우팅/지연 프록시)는 감싸지 않음 - 뒤의 풀에서 한 번만 셈
+// SlowQueryLog는 ObjectProvider로 받아서 처음 커넥션을 얻을 때 찾음 - BeanPostProcessor가 다른 빈을 미리 만들지 않도록
+@Component
+public class QueryMonitoringPostProcessor implements BeanPostProcessor {
+    private final ObjectProvider<SlowQueryLog> slowQueryLog;
+
+    public QueryMonitoringPostProcessor(ObjectProvider<SlowQueryLog> slowQueryLog) {
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource
+                && !(bean instanceof DelegatingDataSource) && !(bean instanceof AbstractRoutingDataSource)) {
+            return new QueryMonitoringDataSource(dataSource, slowQueryLog);
+        }
+        return bean;
+    }
+}
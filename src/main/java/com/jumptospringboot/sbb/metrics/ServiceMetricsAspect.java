@@ -0,0 +1,58 @@
+package com.jumptospringboot.sbb.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// 서비스 메서드 실행 시간 - QuestionService, AnswerService, UserService의 public 메서드마다
+// sbb.service{class, method, outcome=SUCCESS|ERROR, exception} Timer에 기록 (호출 수는 Timer의 count)
+// 컨트롤러는 스프링 부트가 http.server.requests{uri, method, status, outcome}로 기록함
+@Aspect
+@RequiredArgsConstructor
+@Component
+public class ServiceMetricsAspect {
+    private final MeterRegistry meterRegistry;
+    // (메서드, 예외) => Timer - 호출할 때마다 Timer를 찾거나 태그를 만들지 않도록 보관
+    private final Map<Key, Timer> timers = new ConcurrentHashMap<>();
+
+    @Around("execution(public * com.jumptospringboot.sbb.question.QuestionService.*(..))"
+            + " || execution(public * com.jumptospringboot.sbb.answer.AnswerService.*(..))"
+            + " || execution(public * com.jumptospringboot.sbb.user.UserService.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        Class<?> exception = null;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass();
+            throw e;
+        } finally {
+            Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+            timers.computeIfAbsent(new Key(method, exception), this::register)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer register(Key key) {
+        return Timer.builder("sbb.service")
+                .description("서비스 메서드 실행 시간")
+                .tag("class", key.method().getDeclaringClass().getSimpleName())
+                .tag("method", key.method().getName())
+                .tag("outcome", key.exception() == null ? "SUCCESS" : "ERROR")
+                .tag("exception", key.exception() == null ? "none" : key.exception().getSimpleName())
+                .register(meterRegistry);
+    }
+
+    private record Key(Method method, Class<?> exception) {
+    }
+}
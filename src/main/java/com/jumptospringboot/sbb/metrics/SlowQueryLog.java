@@ -0,0 +1,176 @@
+package com.jumptospringboot.sbb.metrics;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+// 느린 SQL 로그 - 바인딩 값마다 로그를 남기던 TRACE 로깅 대신 사용
+// 실행 시간이 threshold 이상인 SQL은 모두(type=slow), 나머지는 sample-rate 비율만(type=sample) 한 줄의 JSON으로 기록
+// 각 줄: SQL 형태(리터럴과 IN 목록을 ?로 바꾼 SQL), 바인딩 수, 실행 시간, 변경된 행 수(조회는 -1), SQL을 실행한 컨트롤러 메서드
+// summary-interval-ms마다 그 사이에 실행된 모든 SQL을 형태별로 모아 총 실행 시간이 긴 top-n개를 기록(type=top)
+// sbb.slow-query 로거는 logback-spring.xml에서 비동기(AsyncAppender)로 logs/slow-query.log 파일에 씀
+@Slf4j(topic = "sbb.slow-query")
+@Component
+public class SlowQueryLog {
+    private static final Pattern COMMENT = Pattern.compile("/\\*.*?\\*/", Pattern.DOTALL);
+    private static final Pattern STRING = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    // 한 주기에 SQL 그대로 모을 최대 개수 - 넘으면 리터럴이 들어간 SQL이 많은 것이므로 형태로 바꿔서 모음
+    private static final int MAX_SQLS = 10_000;
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final long thresholdNanos;
+    private final double sampleRate;
+    private final int topN;
+    // SQL => 이번 주기의 실행 통계 - 실행마다 맵 조회 한 번으로 끝나도록 SQL 그대로 모으고, 형태로는 요약할 때 합침
+    private volatile Map<String, ShapeStats> window = new ConcurrentHashMap<>();
+
+    public SlowQueryLog(ObjectMapper objectMapper,
+                        @Value("${sbb.slow-query.enabled:false}") boolean enabled,
+                        @Value("${sbb.slow-query.threshold:100ms}") Duration threshold,
+                        @Value("${sbb.slow-query.sample-rate:0.01}") double sampleRate,
+                        @Value("${sbb.slow-query.top-n:10}") int topN) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.thresholdNanos = threshold.toNanos();
+        this.sampleRate = sampleRate;
+        this.topN = topN;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // QueryMonitoringDataSource가 SQL 실행(결과 읽기까지)이 끝날 때마다 호출
+    // 정규화(정규식)는 기록하는 줄(느린 SQL, 샘플)과 요약할 때만 실행
+    public void record(String sql, int binds, long nanos, long rows) {
+        Map<String, ShapeStats> current = window;
+        ShapeStats stats = current.get(sql);
+        if (stats == null) {
+            stats = current.computeIfAbsent(current.size() < MAX_SQLS ? sql : normalize(sql), key -> new ShapeStats());
+        }
+        stats.add(nanos, rows);
+
+        String type;
+        if (nanos >= thresholdNanos) {
+            type = "slow";
+        } else if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            type = "sample";
+        } else {
+            return;
+        }
+        write(new Entry(type, millis(nanos), rows, binds, origin(), normalize(sql)));
+    }
+
+    // 주기마다 형태별 통계를 새로 시작하고, 지난 주기의 top-n을 기록
+    @Scheduled(initialDelayString = "${sbb.slow-query.summary-interval-ms:60000}",
+            fixedDelayString = "${sbb.slow-query.summary-interval-ms:60000}")
+    public void summarize() {
+        Map<String, ShapeStats> previous = window;
+        window = new ConcurrentHashMap<>();
+        Map<String, ShapeStats> shapes = new HashMap<>();
+        previous.forEach((sql, stats) -> shapes.computeIfAbsent(normalize(sql), key -> new ShapeStats()).add(stats));
+        List<Map.Entry<String, ShapeStats>> top = shapes.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, ShapeStats> entry) ->
+                        entry.getValue().totalNanos.sum()).reversed())
+                .limit(topN)
+                .toList();
+        for (int i = 0; i < top.size(); i++) {
+            ShapeStats stats = top.get(i).getValue();
+            long count = stats.count.sum();
+            long total = stats.totalNanos.sum();
+            write(new Top("top", i + 1, count, millis(total), millis(total / Math.max(1, count)),
+                    millis(stats.maxNanos.get()), stats.rows.sum(), top.get(i).getKey()));
+        }
+    }
+
+    private void write(Object entry) {
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+        try {
+            log.info(objectMapper.writeValueAsString(entry));
+        } catch (JsonProcessingException e) {
+            log.warn("slow query entry could not be written", e);
+        }
+    }
+
+    static String normalize(String sql) {
+        String shape = COMMENT.matcher(sql).replaceAll(" ");
+        shape = STRING.matcher(shape).replaceAll("?");
+        shape = NUMBER.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("in (?...)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    // 요청 처리 중이면 컨트롤러 메서드(없으면 요청 URI), 아니면 스레드 이름 (스케줄러, 일괄 작업 등)
+    private static String origin() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpServletRequest request = attributes.getRequest();
+            if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler) {
+                return handler.getBeanType().getSimpleName() + "." + handler.getMethod().getName();
+            }
+            if (request.getRequestURI() != null && !request.getRequestURI().isEmpty()) {
+                return request.getMethod() + " " + request.getRequestURI();
+            }
+        }
+        String thread = Thread.currentThread().getName();
+        return thread.isBlank() ? "virtual-" + Thread.currentThread().threadId() : thread;
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+
+    private record Entry(String type, double ms, long rows, int binds, String origin, String sql) {
+    }
+
+    private record Top(String type, int rank, long count, double totalMs, double avgMs, double maxMs, long rows,
+                       String sql) {
+    }
+
+    private static final class ShapeStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        void add(long nanos, long rows) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            if (rows > 0) {
+                this.rows.add(rows);
+            }
+        }
+
+        void add(ShapeStats other) {
+            count.add(other.count.sum());
+            totalNanos.add(other.totalNanos.sum());
+            maxNanos.accumulate(other.maxNanos.get());
+            rows.add(other.rows.sum());
+        }
+    }
+}
@@ -1,10 +1,15 @@
 package com.jumptospringboot.sbb.question;
 
+import com.jumptospringboot.sbb.SequenceAligner;
 import com.jumptospringboot.sbb.answer.Answer;
+import com.jumptospringboot.sbb.cache.SecondLevelCacheConfig;
 import com.jumptospringboot.sbb.user.SiteUser;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -13,9 +18,15 @@ import java.util.Set;
 @Getter
 @Setter
 @Entity
+// 목록 정렬 기준(createDate, id) 인덱스 - 커서 방식 페이징이 이 인덱스를 따라 조회함
+@Table(indexes = @Index(name = "idx_question_create_date_id", columnList = "createDate, id"))
+// 2차 캐시 - 상세 화면은 바뀌지 않은 질문을 DB에서 다시 읽지 않음 (카운터를 바꾸는 네이티브 update 후에는 EntityCacheEvictor로 지움)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.QUESTION)
 public class Question {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // 배치 INSERT가 가능하도록 시퀀스에서 id를 50개씩 미리 받아서 사용
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "question_seq")
+    @SequenceGenerator(name = "question_seq", sequenceName = "question_seq", allocationSize = SequenceAligner.ALLOCATION_SIZE)
     private Integer id;
 
     @Column(length = 200)
@@ -24,12 +35,17 @@ public class Question {
     @Column(columnDefinition = "TEXT")
     private String content;
 
+    // content를 마크다운으로 변환한 HTML - 저장할 때 한 번만 변환해서 조회 시에는 변환하지 않음
+    @Column(columnDefinition = "TEXT")
+    private String contentHtml;
+
     private LocalDateTime createDate;
 
     // 질문과 답변은 1:N 관계
     // cascade = CascadeType.REMOVE: 질문을 삭제하면 답변도 함께 삭제
     // 질문 하나에 답변은 여러 개이므로 List<Answer>
     @OneToMany(mappedBy = "question", cascade = CascadeType.REMOVE)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.COLLECTION)
     private List<Answer> answerList;
 
     // 사용자 한 명이 질문 여러 개 작성할 수 있음
@@ -39,5 +55,26 @@ public class Question {
     private LocalDateTime modifyDate;
 
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.COLLECTION)
     Set<SiteUser> voter; // voter 속성값이 서로 중복되지 않도록 하기 위함
+
+    // 답변 개수와 추천 수 - 개수를 세려고 answerList, voter 컬렉션 전체를 읽지 않도록 따로 저장
+    // 서비스의 update 쿼리로만 증감하므로 엔티티를 저장할 때는 덮어쓰지 않음(updatable = false)
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private int answerCount;
+
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private int voteCount;
+
+    // 조회수 - ViewCountAccumulator가 모아 두었다가 주기적으로 더함
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private long viewCount;
+
+    // 마지막 변경 일시 - 질문 수정, 답변 등록/수정/삭제, 추천 시 갱신 (조회수 증가는 포함하지 않음)
+    // 상세 화면의 ETag/Last-Modified로 사용해서 바뀌지 않은 화면은 다시 만들지 않고 304로 응답
+    // 이 열이 추가되기 전의 행은 null이므로 modifyDate, createDate 순으로 대신 사용
+    private LocalDateTime activityDate;
 }
@@ -0,0 +1,78 @@
+package com.jumptospringboot.sbb.question;
+
+import com.jumptospringboot.sbb.metrics.QueryBudget;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.Semaphore;
+
+// 읽기 전용 JSON API - 화면(QuestionController)과 같은 서비스를 사용하고 엔티티 대신 DTO(record)로 응답
+// @RestController: 모든 메서드에 @ResponseBody가 붙은 것과 같음 => 리턴값을 JSON으로 변환
+@RequestMapping("/api/questions")
+@RestController
+public class QuestionApiController {
+    private final QuestionService questionService;
+    private final QuestionExporter questionExporter;
+    // 동시에 실행할 수 있는 내보내기 수 - 내보내기마다 DB 커넥션 하나를 끝날 때까지 사용하므로 제한함
+    private final Semaphore exportPermits;
+
+    public QuestionApiController(QuestionService questionService, QuestionExporter questionExporter,
+                                 @Value("${sbb.export.max-concurrent:1}") int maxConcurrentExports) {
+        this.questionService = questionService;
+        this.questionExporter = questionExporter;
+        this.exportPermits = new Semaphore(maxConcurrentExports);
+    }
+
+    // 목록과 검색 - 화면의 /question/list와 같은 파라미터 (after/before가 있으면 커서 방식)
+    @QueryBudget(2)
+    @GetMapping
+    public QuestionListResponse list(@RequestParam(value = "page", defaultValue = "0") int page,
+                                     @RequestParam(value = "kw", defaultValue = "") String kw,
+                                     @RequestParam(value = "after", required = false) String after,
+                                     @RequestParam(value = "before", required = false) String before) {
+        if (after != null || before != null) {
+            return QuestionListResponse.of(this.questionService.getSlice(after, before, kw));
+        }
+        return QuestionListResponse.of(this.questionService.getList(page, kw));
+    }
+
+    // 상세 - 질문과 답변 한 페이지 (조회수는 화면에서 볼 때만 증가)
+    @QueryBudget(3)
+    @GetMapping("/{id}")
+    public QuestionDetailResponse detail(@PathVariable("id") Integer id,
+                                         @RequestParam(value = "answerPage", defaultValue = "0") int answerPage,
+                                         @RequestParam(value = "sort", defaultValue = "oldest") String sort) {
+        return QuestionDetailResponse.of(this.questionService.getQuestionDetail(id, answerPage, sort));
+    }
+
+    // 전체 내보내기 - 한 줄에 질문 하나(답변, 추천자 포함)인 NDJSON을 DB 커서에서 읽는 대로 바로 씀
+    // 응답을 메모리에 모으지 않으므로 테이블 크기와 상관없이 메모리 사용량이 일정함
+    // 관리자만 실행할 수 있고, 이미 max-concurrent개가 실행 중이면 기다리지 않고 429로 응답
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/export")
+    public void export(HttpServletResponse response) throws IOException {
+        if (!this.exportPermits.tryAcquire()) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "다른 내보내기가 실행 중입니다.");
+        }
+        try {
+            response.setContentType("application/x-ndjson");
+            response.setCharacterEncoding("UTF-8");
+            response.setHeader("Content-Disposition", "attachment; filename=\"questions.ndjson\"");
+            OutputStream out = response.getOutputStream();
+            this.questionExporter.export(out);
+            out.flush();
+        } finally {
+            this.exportPermits.release();
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.jumptospringboot.sbb.question;
+
+// 질문 목록이나 검색 결과에 보이는 내용이 바뀌었음을 알리는 이벤트 (질문 등록/수정/삭제/추천, 답변 등록/수정/삭제)
+// 조회수 반영은 ViewCountsFlushedEvent
+public record QuestionChangedEvent(Integer questionId) {
+}
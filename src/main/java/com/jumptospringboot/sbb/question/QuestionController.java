@@ -1,8 +1,12 @@
 package com.jumptospringboot.sbb.question;
 
 import com.jumptospringboot.sbb.answer.AnswerForm;
+import com.jumptospringboot.sbb.metrics.QueryBudget;
 import com.jumptospringboot.sbb.user.SiteUser;
 import com.jumptospringboot.sbb.user.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -12,9 +16,17 @@ import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
 
 import java.security.Principal;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Set;
 
 // 프리픽스(prefix): URL의 접두사 또는 시작 부분을 가리키는 말 [필수 X]
 // QuestionController에 속하는 URL 매핑은 항상 /question 프리픽스로 시작하므로,
@@ -27,29 +39,79 @@ public class QuestionController {
     // @RequiredArgsConstructor 어노테이션 사용 결과, 생성자가 자동으로 생성되어 객체가 자동으로 주입됨
     private final QuestionService questionService;
     private final UserService userService;
+    private final QuestionListVersion questionListVersion;
+    private final QuestionListCache questionListCache;
+    private final ITemplateEngine templateEngine;
 
+    @QueryBudget(2) // 목록 + 색인 준비 전 검색의 개수 (전체 개수는 QuestionCount가 유지, 캐시에 있으면 0)
     @GetMapping("/list")
     // 템플릿을 사용하기 때문에 @ResponseBody 어노테이션은 필요없음
     // 매개변수로 사용된 Model 객체는 자바 클래스와 템플릿 간의 연결 고리 역할 => Model 객체에 값을 담아 두면 템플릿에서 값을 사용할 수 있음
     // Model 객체는 따로 생성할 필요 없이, 컨트롤러의 메서드에 매개변수로 지정하기만 하면 스프링 부트가 자동으로 Model 객체 생성
     // @RequestParam(value = "page", defaultValue = "0") -> 스프링 부트의 페이징 기능을 구현할 때 첫 페이지 번호는 0이므로 기본값으론 0을 설정
     // GET 방식에서는 값을 전달하기 위해 ?와 &를 이용하는데, 첫 번째 파라미터는 ? 기호를 사용하고 그 이후 추가되는 값은 & 기호를 사용
+    // after/before 커서가 있으면 커서 방식 페이징 => 몇 번째 페이지든 같은 비용으로 조회 (깊은 페이지용)
+    // 목록 버전과 표의 내용이 그대로면 304 응답 (null을 리턴하면 템플릿을 만들지 않음)
+    // 조회수는 목록 버전을 올리지 않고 그 질문이 있는 표만 바뀌므로, ETag에 표 HTML의 해시값을 포함함 (캐시에 있으면 DB 조회 없음)
     public String list(Model model, @RequestParam(value = "page", defaultValue = "0") int page,
-                       @RequestParam(value = "kw", defaultValue = "") String kw) {
+                       @RequestParam(value = "kw", defaultValue = "") String kw,
+                       @RequestParam(value = "after", required = false) String after,
+                       @RequestParam(value = "before", required = false) String before,
+                       WebRequest webRequest, HttpServletRequest request, HttpServletResponse response) {
+        long version = this.questionListVersion.current();
         // Service를 이용해서 repository에 우회 접근 : 컨트롤러 -> 서비스 -> 리포지터리 순서로 접근
-        Page<Question> paging = this.questionService.getList(page, kw);
-        // Model 객체에 값 추가
-        model.addAttribute("paging", paging);
+        // 페이지 번호 방식은 캐시에 없을 때만 조회해서 렌더링, 커서 방식은 커서 값이 매번 달라서 캐시하지 않음
+        String table = after != null || before != null
+                ? renderTable(this.questionService.getSlice(after, before, kw), null, kw, request, response)
+                : this.questionListCache.get(page, kw, () -> this.questionService.getList(page, kw),
+                        paging -> renderTable(null, paging, kw, request, response));
+        if (notModified(webRequest, request, response, "l" + version + "." + Integer.toHexString(table.hashCode()), -1)) {
+            return null;
+        }
+        model.addAttribute("table", table);
+        model.addAttribute("page", after != null || before != null ? 0 : page);
         model.addAttribute("kw", kw);
         return "question_list";
     }
 
+    // 목록 표(question_list_table.html의 table 조각)만 렌더링해서 HTML 문자열로 리턴
+    private String renderTable(QuestionSlice slice, Page<QuestionListItem> paging, String kw,
+                               HttpServletRequest request, HttpServletResponse response) {
+        WebContext context = new WebContext(JakartaServletWebApplication.buildApplication(request.getServletContext())
+                .buildExchange(request, response));
+        context.setVariable("slice", slice);
+        context.setVariable("paging", paging);
+        // 다음 페이지부터는 커서 방식으로 이어서 볼 수 있도록 마지막 질문의 커서를 전달
+        if (paging != null && paging.hasNext() && paging.hasContent()) {
+            List<QuestionListItem> content = paging.getContent();
+            context.setVariable("nextCursor", QuestionCursor.of(content.get(content.size() - 1)).encode());
+        }
+        context.setVariable("kw", kw);
+        return this.templateEngine.process("question_list_table", Set.of("table"), context);
+    }
+
     // 게시글 단건 조회
+    @QueryBudget(4) // 변경 일시 + 질문/작성자 + 답변/작성자 - 답변 수가 늘어도 그대로여야 함
     @GetMapping(value = "/detail/{id}")
     // @PathVariable 어노테이션을 사용하면 URL 경로에 있는 값을 매개변수로 받을 수 있음
-    public String detail(Model model, @PathVariable("id") Integer id, AnswerForm answerForm) {
-        Question question = this.questionService.getQuestion(id);
-        model.addAttribute("question", question);
+    // answerPage: 답변 페이지 번호, sort: 답변 정렬(oldest, newest, votes)
+    public String detail(Model model, @PathVariable("id") Integer id, AnswerForm answerForm,
+                         @RequestParam(value = "answerPage", defaultValue = "0") int answerPage,
+                         @RequestParam(value = "sort", defaultValue = "oldest") String sort,
+                         WebRequest webRequest, HttpServletRequest request, HttpServletResponse response) {
+        // 질문의 마지막 변경 일시만 조회해서 바뀌지 않았으면 답변을 읽지 않고 304 응답 (조회수는 증가)
+        // Last-Modified는 초 단위이므로 ETag에는 마이크로초까지 포함해서 같은 초 안의 변경도 구분함
+        Instant activity = this.questionService.getActivityDate(id).atZone(ZoneId.systemDefault()).toInstant();
+        this.questionService.increaseViewCount(id);
+        String version = "q" + activity.getEpochSecond() + "." + activity.getNano() / 1000;
+        if (notModified(webRequest, request, response, version, activity.toEpochMilli())) {
+            return null;
+        }
+        // 질문, 답변, 작성자를 정해진 횟수의 쿼리로 미리 조회해서 템플릿에서 지연 로딩이 일어나지 않도록 함
+        QuestionDetail detail = this.questionService.getQuestionDetail(id, answerPage, sort);
+        model.addAttribute("question", detail.question());
+        model.addAttribute("answerPaging", detail.answerPaging());
+        model.addAttribute("sort", sort);
         return "question_detail";
     }
 
@@ -139,4 +201,18 @@ public class QuestionController {
         this.questionService.vote(question, siteUser);
         return String.format("redirect:/question/detail/%s", id);
     }
+
+    // 조건부 요청 처리 - 요청의 If-None-Match/If-Modified-Since가 현재 버전과 같으면 304 상태를 설정하고 true 리턴
+    // 화면은 로그인 여부와 세션별 CSRF 토큰에 따라 달라지므로 ETag에 세션을 구분하는 값을 포함하고,
+    // 브라우저가 저장한 화면을 매번 확인(no-cache)하며 공용 캐시에는 저장하지 않도록(private) 함
+    // (세션 id 대신 해시값을 사용해서 ETag로 세션 id가 노출되지 않도록 함)
+    // (세션이 없는 요청에서 세션을 새로 만들지 않도록 getSession(false)로 확인)
+    private boolean notModified(WebRequest webRequest, HttpServletRequest request, HttpServletResponse response,
+                                String version, long lastModified) {
+        HttpSession session = request.getSession(false);
+        String owner = session == null ? "anon" : Integer.toHexString(session.getId().hashCode());
+        String etag = "W/\"" + version + "-" + owner + "\"";
+        response.setHeader("Cache-Control", "private, no-cache");
+        return lastModified < 0 ? webRequest.checkNotModified(etag) : webRequest.checkNotModified(etag, lastModified);
+    }
 }
@@ -0,0 +1,86 @@
+package com.jumptospringboot.sbb.question;
+
+import com.jumptospringboot.sbb.cache.LocalCache;
+import com.jumptospringboot.sbb.cache.LocalCaches;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// 목록 페이징에 쓰는 질문 개수 - 목록을 볼 때마다 count 쿼리를 실행하지 않도록 메모리에 유지
+// 전체 개수는 QuestionService.create/delete가 커밋된 뒤 증감하고, 검색어별 개수는 짧은 시간(TTL)만 보관
+// 일괄 가져오기나 직접 수정한 행으로 어긋날 수 있으므로 기동 직후와 주기적으로 DB의 count(*)로 다시 맞춤
+@Slf4j
+@Component
+public class QuestionCount {
+    private final QuestionRepository questionRepository;
+    // 아직 세지 않았으면 -1
+    private final AtomicLong total = new AtomicLong(-1);
+    // 검색어 => 개수
+    private final LocalCache<String, Long> keywordTotals;
+
+    public QuestionCount(QuestionRepository questionRepository, LocalCaches localCaches,
+                         @Value("${sbb.question-count.keyword-max-size:1000}") int keywordMaxSize,
+                         @Value("${sbb.question-count.keyword-ttl:30s}") Duration keywordTtl) {
+        this.questionRepository = questionRepository;
+        this.keywordTotals = localCaches.create("sbb.question.count.cache", "검색어별 질문 수 캐시",
+                String.class, Long.class, keywordMaxSize, keywordTtl);
+    }
+
+    // 전체 질문 수 - 처음 한 번만 DB에서 셈
+    public long total() {
+        long value = this.total.get();
+        return value >= 0 ? value : reconcile();
+    }
+
+    // 검색 결과 수 - TTL 안에서는 같은 검색어의 개수를 다시 세지 않음 (그 사이의 등록/삭제는 TTL만큼 늦게 반영)
+    public long keywordTotal(String kw, LongSupplier counter) {
+        Long cached = this.keywordTotals.get(kw);
+        if (cached != null) {
+            return cached;
+        }
+        long count = counter.getAsLong();
+        this.keywordTotals.put(kw, count);
+        return count;
+    }
+
+    // 질문 등록(+1)/삭제(-1) - 롤백된 변경이 더해지지 않도록 커밋된 뒤에 반영
+    public void add(int delta) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(delta);
+                }
+            });
+        } else {
+            apply(delta);
+        }
+    }
+
+    // DB의 실제 개수로 맞춤 - 기동 직후(일괄 가져오기/데이터 생성 포함), 이후 reconcile-interval-ms마다
+    // 세는 도중에 커밋된 등록/삭제는 다음 보정에서 맞춰짐
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${sbb.question-count.reconcile-interval-ms:300000}",
+            fixedDelayString = "${sbb.question-count.reconcile-interval-ms:300000}")
+    public long reconcile() {
+        long count = this.questionRepository.count();
+        long previous = this.total.getAndSet(count);
+        if (previous >= 0 && previous != count) {
+            log.info("question count reconciled: {} -> {}", previous, count);
+        }
+        return count;
+    }
+
+    private void apply(int delta) {
+        this.total.getAndUpdate(value -> value < 0 ? value : value + delta);
+    }
+}
@@ -0,0 +1,32 @@
+package com.jumptospringboot.sbb.question;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+// 커서(seek) 방식 페이징의 위치 - 목록의 정렬 기준인 (createDate, id)
+// 클라이언트에는 내용을 알 수 없는 문자열(Base64)로만 전달함
+public record QuestionCursor(LocalDateTime createDate, Integer id) {
+    public static QuestionCursor of(QuestionListItem question) {
+        return new QuestionCursor(question.createDate(), question.id());
+    }
+
+    public String encode() {
+        String raw = createDate + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static QuestionCursor decode(String value) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            return new QuestionCursor(LocalDateTime.parse(raw.substring(0, sep)),
+                    Integer.valueOf(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "잘못된 페이지 커서입니다.");
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.jumptospringboot.sbb.question;
+
+import com.jumptospringboot.sbb.answer.Answer;
+import org.springframework.data.domain.Page;
+
+// 상세 화면에 필요한 데이터 - 질문(작성자 포함)과 답변 한 페이지(작성자 포함)
+public record QuestionDetail(Question question, Page<Answer> answerPaging) {
+}
@@ -0,0 +1,25 @@
+package com.jumptospringboot.sbb.question;
+
+import com.jumptospringboot.sbb.answer.Answer;
+import com.jumptospringboot.sbb.answer.AnswerResponse;
+import org.springframework.data.domain.Page;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// JSON API 상세 - 질문과 답변 한 페이지 (답변 페이징은 상세 화면과 같음)
+public record QuestionDetailResponse(Integer id, String subject, String content, String contentHtml, String author,
+                                     LocalDateTime createDate, LocalDateTime modifyDate,
+                                     int answerCount, int voteCount, long viewCount,
+                                     List<AnswerResponse> answers, int answerPage, int answerTotalPages) {
+    public static QuestionDetailResponse of(QuestionDetail detail) {
+        Question question = detail.question();
+        Page<Answer> answers = detail.answerPaging();
+        return new QuestionDetailResponse(question.getId(), question.getSubject(), question.getContent(),
+                question.getContentHtml(), question.getAuthor() == null ? null : question.getAuthor().getUsername(),
+                question.getCreateDate(), question.getModifyDate(),
+                question.getAnswerCount(), question.getVoteCount(), question.getViewCount(),
+                answers.getContent().stream().map(AnswerResponse::of).toList(),
+                answers.getNumber(), answers.getTotalPages());
+    }
+}
@@ -0,0 +1,14 @@
+package com.jumptospringboot.sbb.question;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// NDJSON 내보내기의 한 줄 - 질문 하나와 그 답변, 추천자
+// 필드 이름이 가져오기 형식(ImportQuestion)과 같아서 내보낸 파일을 그대로 다시 가져올 수 있음 (id, modifyDate는 무시됨)
+public record QuestionExport(Integer id, String subject, String content, String author, LocalDateTime createDate,
+                             LocalDateTime modifyDate, List<String> voters, List<AnswerExport> answers) {
+
+    public record AnswerExport(Integer id, String content, String author, LocalDateTime createDate,
+                               LocalDateTime modifyDate, List<String> voters) {
+    }
+}
@@ -0,0 +1,146 @@
+package com.jumptospringboot.sbb.question;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// 전체 질문을 답변, 추천자와 함께 NDJSON(한 줄에 질문 하나)으로 내보냄
+// 질문, 질문 추천자, 답변, 답변 추천자를 각각 question id 순서로 읽는 커서 4개를 동시에 열고
+// 같은 질문의 행끼리 맞춰 가며(merge join) 한 줄씩 바로 출력하므로 메모리에는 질문 한 개 분량만 올라감
+@Component
+public class QuestionExporter {
+    private static final int FETCH_SIZE = 500;
+
+    private static final String QUESTIONS = "select q.id, q.subject, q.content, q.create_date, q.modify_date, u.username "
+            + "from question q left join site_user u on u.id = q.author_id order by q.id";
+    private static final String QUESTION_VOTERS = "select v.question_id, u.username "
+            + "from question_voter v join site_user u on u.id = v.voter_id order by v.question_id";
+    private static final String ANSWERS = "select a.question_id, a.id, a.content, a.create_date, a.modify_date, u.username "
+            + "from answer a left join site_user u on u.id = a.author_id order by a.question_id, a.id";
+    private static final String ANSWER_VOTERS = "select a.question_id, v.answer_id, u.username "
+            + "from answer_voter v join answer a on a.id = v.answer_id join site_user u on u.id = v.voter_id "
+            + "order by a.question_id, v.answer_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectWriter writer;
+
+    public QuestionExporter(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        // 네 커서가 같은 시점의 데이터를 읽도록 하나의 읽기 전용 트랜잭션에서 실행
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        this.writer = objectMapper.writerFor(QuestionExport.class);
+    }
+
+    // 내보낸 질문 수를 리턴
+    public long export(OutputStream out) {
+        Long count = this.readOnlyTransaction.execute(status ->
+                this.jdbcTemplate.execute((ConnectionCallback<Long>) connection -> export(connection, out)));
+        return count == null ? 0 : count;
+    }
+
+    private long export(Connection connection, OutputStream out) throws SQLException {
+        try (Cursor questions = new Cursor(connection, QUESTIONS);
+             Cursor questionVoters = new Cursor(connection, QUESTION_VOTERS);
+             Cursor answers = new Cursor(connection, ANSWERS);
+             Cursor answerVoters = new Cursor(connection, ANSWER_VOTERS)) {
+            long count = 0;
+            while (questions.next()) {
+                ResultSet q = questions.resultSet;
+                int questionId = q.getInt(1);
+                List<String> voters = new ArrayList<>();
+                while (questionVoters.at(questionId)) {
+                    voters.add(questionVoters.resultSet.getString(2));
+                    questionVoters.next();
+                }
+                List<QuestionExport.AnswerExport> answerList = new ArrayList<>();
+                while (answers.at(questionId)) {
+                    ResultSet a = answers.resultSet;
+                    int answerId = a.getInt(2);
+                    List<String> answerVoterList = new ArrayList<>();
+                    // 답변 추천자도 (question_id, answer_id) 순서이므로 이 답변의 행까지만 읽음
+                    while (answerVoters.at(questionId) && answerVoters.resultSet.getInt(2) <= answerId) {
+                        if (answerVoters.resultSet.getInt(2) == answerId) {
+                            answerVoterList.add(answerVoters.resultSet.getString(3));
+                        }
+                        answerVoters.next();
+                    }
+                    answerList.add(new QuestionExport.AnswerExport(answerId, a.getString(3), a.getString(6),
+                            toLocalDateTime(a.getTimestamp(4)), toLocalDateTime(a.getTimestamp(5)), answerVoterList));
+                    answers.next();
+                }
+                write(out, new QuestionExport(questionId, q.getString(2), q.getString(3), q.getString(6),
+                        toLocalDateTime(q.getTimestamp(4)), toLocalDateTime(q.getTimestamp(5)), voters, answerList));
+                count++;
+            }
+            return count;
+        }
+    }
+
+    private void write(OutputStream out, QuestionExport line) {
+        try {
+            out.write(this.writer.writeValueAsBytes(line));
+            out.write('\n');
+        } catch (IOException e) {
+            // 클라이언트가 연결을 끊은 경우 - 커서를 닫고 트랜잭션을 끝내도록 예외로 빠져나감
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+
+    // question id 순서로 읽는 커서 - 첫 번째 열이 question id
+    // 커서 하나에는 현재 행 하나만 있고 나머지는 드라이버가 FETCH_SIZE개씩 가져옴
+    private static final class Cursor implements AutoCloseable {
+        private final PreparedStatement statement;
+        private final ResultSet resultSet;
+        private boolean hasRow;
+        private boolean started;
+
+        Cursor(Connection connection, String sql) throws SQLException {
+            this.statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            this.statement.setFetchSize(FETCH_SIZE);
+            this.resultSet = this.statement.executeQuery();
+        }
+
+        boolean next() throws SQLException {
+            this.hasRow = this.resultSet.next();
+            return this.hasRow;
+        }
+
+        // 현재 행이 이 질문의 행인지 - 처음 호출될 때 첫 행으로 이동하고, 더 작은 question id의 행은 건너뜀
+        boolean at(int questionId) throws SQLException {
+            if (!this.started) {
+                this.started = true;
+                next();
+            }
+            while (this.hasRow && this.resultSet.getInt(1) < questionId) {
+                next();
+            }
+            return this.hasRow && this.resultSet.getInt(1) == questionId;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            this.statement.close();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.jumptospringboot.sbb.question;
+
+import com.jumptospringboot.sbb.cache.LocalCache;
+import com.jumptospringboot.sbb.cache.LocalCaches;
+import com.jumptospringboot.sbb.replica.ReadYourWrites;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+// (페이지 번호, 검색어) => 렌더링된 목록 표 HTML 캐시
+// 캐시에 있으면 목록 조회, count 쿼리, 템플릿 처리 없이 그대로 사용하므로 DB에 접근하지 않음
+// 질문/답변이 바뀌면(QuestionChangedEvent) 전체를 비우고, 크기와 유효 시간(TTL)으로도 제한함(LocalCaches)
+// 조회수는 write-behind로 반영되므로 반영될 때(ViewCountsFlushedEvent) 반영한 질문이 들어 있는 표만 지움
+// replica 프로필에서 방금 글을 쓴 세션은 캐시된 표(아직 복제되지 않은 복제 DB에서 만들었을 수 있음)를 쓰지 않고 주 DB에서 다시 만듦
+@Component
+public class QuestionListCache {
+    private final QuestionListVersion questionListVersion;
+    // replica 프로필이 아니면 null
+    private final ReadYourWrites readYourWrites;
+    private final LocalCache<String, Entry> cache;
+
+    public QuestionListCache(QuestionListVersion questionListVersion, ObjectProvider<ReadYourWrites> readYourWrites,
+                             LocalCaches localCaches,
+                             @Value("${sbb.question-list-cache.max-size:200}") int maxSize,
+                             @Value("${sbb.question-list-cache.ttl:30s}") Duration ttl) {
+        this.questionListVersion = questionListVersion;
+        this.readYourWrites = readYourWrites.getIfAvailable();
+        this.cache = localCaches.create("sbb.question.list.cache", "목록 표 캐시", String.class, Entry.class,
+                maxSize, ttl);
+    }
+
+    // 캐시에 없으면 query로 조회해서 renderer로 만들어서 저장 - 표에 들어간 질문 id도 함께 저장
+    // 렌더링을 시작할 때의 목록 버전을 함께 저장해 두고, 버전이 같을 때만 사용함
+    // => 렌더링 도중에 변경이 커밋되어 이전 내용이 저장되더라도 다음 요청에서 사용되지 않음
+    public String get(int page, String kw, Supplier<Page<QuestionListItem>> query,
+                      Function<Page<QuestionListItem>, String> renderer) {
+        String key = page + "|" + kw;
+        long version = this.questionListVersion.current();
+        if (readYourWrites == null || !readYourWrites.pinned()) {
+            Entry entry = cache.get(key, cached -> cached.version() == version);
+            if (entry != null) {
+                return entry.html();
+            }
+        }
+        Page<QuestionListItem> paging = query.get();
+        String html = renderer.apply(paging);
+        Set<Integer> ids = paging.stream().map(QuestionListItem::id).collect(Collectors.toSet());
+        cache.put(key, new Entry(html, ids, version));
+        return html;
+    }
+
+    // 이전 버전의 표는 다시 사용되지 않으므로 메모리에서 바로 지움
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChanged(QuestionChangedEvent event) {
+        invalidateAll();
+    }
+
+    // 반영된 조회수가 보이는 표만 지움 - 나머지 표는 그대로 사용하고 목록 버전(ETag)도 바뀌지 않음
+    // 조회수를 반영하는 도중에 만든 표는 반영 전 조회수일 수 있으나, 다음 반영이나 유효 시간(TTL)이 지나면 지워짐
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onViewCountsFlushed(ViewCountsFlushedEvent event) {
+        cache.removeIf(entry -> entry.ids().stream().anyMatch(event.questionIds()::contains));
+    }
+
+    public void invalidateAll() {
+        cache.clear();
+    }
+
+    private record Entry(String html, Set<Integer> ids, long version) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.jumptospringboot.sbb.question;
+
+import java.time.LocalDateTime;
+
+// 목록 화면과 목록 API의 질문 한 건 - 본문(TEXT)과 연관 엔티티 없이 목록에 보이는 열만 조회 (QuestionRepository의 select new)
+// 엔티티가 아니므로 영속성 컨텍스트와 2차 캐시에 들어가지 않고, 작성자도 username만 가져옴
+public record QuestionListItem(Integer id, String subject, String author, LocalDateTime createDate,
+                               int answerCount, int voteCount, long viewCount) {
+}
@@ -0,0 +1,28 @@
+package com.jumptospringboot.sbb.question;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+// JSON API 목록 - 페이지 번호 방식이면 page, totalElements, totalPages를,
+// 커서 방식이면 previousCursor, nextCursor만 채움 (값이 없는 항목은 응답에서 생략)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record QuestionListResponse(List<QuestionSummaryResponse> content, Integer page, Long totalElements,
+                                   Integer totalPages, String previousCursor, String nextCursor) {
+    public static QuestionListResponse of(Page<QuestionListItem> paging) {
+        List<QuestionListItem> questions = paging.getContent();
+        // 다음 페이지부터는 커서 방식으로 이어서 조회할 수 있도록 마지막 질문의 커서를 전달
+        String nextCursor = paging.hasNext() && !questions.isEmpty()
+                ? QuestionCursor.of(questions.get(questions.size() - 1)).encode() : null;
+        return new QuestionListResponse(questions.stream().map(QuestionSummaryResponse::of).toList(),
+                paging.getNumber(), paging.getTotalElements(), paging.getTotalPages(), null, nextCursor);
+    }
+
+    public static QuestionListResponse of(QuestionSlice slice) {
+        return new QuestionListResponse(slice.content().stream().map(QuestionSummaryResponse::of).toList(),
+                null, null, null,
+                slice.hasPrevious() ? slice.getPreviousCursor() : null,
+                slice.hasNext() ? slice.getNextCursor() : null);
+    }
+}
@@ -0,0 +1,44 @@
+package com.jumptospringboot.sbb.question;
+
+import com.jumptospringboot.sbb.replica.ReplicaSyncedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// 질문 목록 전체의 내용 버전 - 목록 화면의 ETag로 사용
+// 어느 페이지, 어떤 검색어의 목록이 바뀌었는지 따지지 않고 변경이 있을 때마다 하나씩 올림 (DB 조회 없음)
+// 기동 시각으로 시작하므로 재시작 전에 받은 ETag는 다시 사용되지 않음
+// 조회수 반영은 목록 전체의 변경이 아니므로 올리지 않음 - 그 질문이 있는 표만 QuestionListCache에서 다시 만듦
+// 목록을 복제 DB에서 읽는 경우(replica 프로필) 변경이 복제되기 전에 새 버전으로 이전 목록이 만들어질 수 있으므로,
+// 변경이 복제 DB에 반영되면(ReplicaSyncedEvent) 한 번 더 올림
+@Component
+public class QuestionListVersion {
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+    // 마지막 변경이 커밋된 시각, 복제 DB에 반영되었다고 확인한 시각(ms)
+    private volatile long changedAt;
+    private volatile long replicatedAt;
+
+    public long current() {
+        return this.version.get();
+    }
+
+    // 커밋된 뒤에 올려야 새 버전으로 이전 내용의 화면이 만들어지지 않음
+    // 트랜잭션 밖에서 발생한 이벤트는 바로 처리(fallbackExecution)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChanged(QuestionChangedEvent event) {
+        this.changedAt = System.currentTimeMillis();
+        this.version.incrementAndGet();
+    }
+
+    // 지난 확인 이후의 변경이 있었을 때만 올림 - 변경이 없으면 복제할 때마다 ETag와 목록 캐시가 바뀌지 않음
+    // 복제를 시작한 뒤에 커밋된 변경은 이번 복제에 빠졌을 수 있으므로 다음 복제 때 다시 올림
+    @EventListener
+    public void onReplicaSynced(ReplicaSyncedEvent event) {
+        if (this.changedAt >= this.replicatedAt) {
+            this.version.incrementAndGet();
+        }
+        this.replicatedAt = event.startedAt();
+    }
+}
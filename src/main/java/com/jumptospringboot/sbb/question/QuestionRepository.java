@@ -1,10 +1,22 @@
 package com.jumptospringboot.sbb.question;
 
+import com.jumptospringboot.sbb.MarkdownSource;
+import com.jumptospringboot.sbb.cache.EntityCacheEvictor;
+import com.jumptospringboot.sbb.search.IndexSource;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface QuestionRepository extends JpaRepository<Question, Integer> {
@@ -16,6 +28,116 @@ public interface QuestionRepository extends JpaRepository<Question, Integer> {
     // Specification과 Pageable 객체를 사용하여 DB에서 Question 엔티티를 조회한 결과를 페이징하여 반환
     Page<Question> findAll(Specification<Question> specification,  Pageable pageable);
 
+    // 목록 화면용 - 본문(TEXT) 없이 목록에 보이는 열과 작성자명만 한 번의 쿼리로 조회
+    String LIST_ITEM = "select new com.jumptospringboot.sbb.question.QuestionListItem("
+            + "q.id, q.subject, u.username, q.createDate, q.answerCount, q.voteCount, q.viewCount) "
+            + "from Question q left join q.author u ";
+
+    // 검색 조건 - 제목, 내용, 질문작성자, 답변내용, 답변작성자 중 하나라도 포함하면 결과에 포함
+    // 답변은 exists로 확인하므로 질문이 중복되지 않아 distinct가 필요 없음
+    // 뒤에 커서 조건을 and로 붙일 수 있도록 괄호로 묶음
+    String KEYWORD = "where (q.subject like %:kw% or q.content like %:kw% or u.username like %:kw% "
+            + "or exists (select 1 from Answer a left join a.author au where a.question = q "
+            + "and (a.content like %:kw% or au.username like %:kw%))) ";
+
+    // 전체 개수는 QuestionCount가 유지하므로 count 쿼리 없이 한 페이지만 조회 (Page 대신 List)
+    @Query(LIST_ITEM)
+    List<QuestionListItem> findListItems(Pageable pageable);
+
+    // 검색 색인이 준비되기 전의 검색 목록 - 개수는 countByKeyword를 QuestionCount에 잠시 보관해서 사용
+    @Query(LIST_ITEM + KEYWORD)
+    List<QuestionListItem> searchListItems(@Param("kw") String kw, Pageable pageable);
+
+    @Query("select count(q) from Question q left join q.author u " + KEYWORD)
+    long countByKeyword(@Param("kw") String kw);
+
+    // 검색 색인이 찾은 질문 id의 목록 항목 (순서는 서비스에서 색인 순서로 맞춤)
+    @Query(LIST_ITEM + "where q.id in :ids")
+    List<QuestionListItem> findListItemsByIdIn(@Param("ids") Collection<Integer> ids);
+
+    // 커서 방식 페이징 - (createDate, id) 인덱스를 따라 첫 목록을 조회
+    @Query(LIST_ITEM + "order by q.createDate desc, q.id desc")
+    List<QuestionListItem> findLatest(Limit limit);
+
+    // 커서 이후(더 오래된) 목록 - OFFSET 없이 인덱스 위치로 바로 찾아감
+    @Query(LIST_ITEM
+            + "where q.createDate <= :createDate and (q.createDate < :createDate or q.id < :id) "
+            + "order by q.createDate desc, q.id desc")
+    List<QuestionListItem> findLatestAfter(@Param("createDate") LocalDateTime createDate, @Param("id") Integer id, Limit limit);
+
+    // 커서 이전(더 최신) 목록 - 오름차순으로 읽은 뒤 서비스에서 뒤집음
+    @Query(LIST_ITEM
+            + "where q.createDate >= :createDate and (q.createDate > :createDate or q.id > :id) "
+            + "order by q.createDate asc, q.id asc")
+    List<QuestionListItem> findLatestBefore(@Param("createDate") LocalDateTime createDate, @Param("id") Integer id, Limit limit);
+
+    // 검색 색인이 준비되기 전의 커서 방식 검색 목록 - 위의 findLatest* 와 같은 커서 조건을 검색 조건에 더함
+    @Query(LIST_ITEM + KEYWORD + "order by q.createDate desc, q.id desc")
+    List<QuestionListItem> searchLatest(@Param("kw") String kw, Limit limit);
+
+    @Query(LIST_ITEM + KEYWORD
+            + "and q.createDate <= :createDate and (q.createDate < :createDate or q.id < :id) "
+            + "order by q.createDate desc, q.id desc")
+    List<QuestionListItem> searchLatestAfter(@Param("kw") String kw, @Param("createDate") LocalDateTime createDate,
+                                             @Param("id") Integer id, Limit limit);
+
+    @Query(LIST_ITEM + KEYWORD
+            + "and q.createDate >= :createDate and (q.createDate > :createDate or q.id > :id) "
+            + "order by q.createDate asc, q.id asc")
+    List<QuestionListItem> searchLatestBefore(@Param("kw") String kw, @Param("createDate") LocalDateTime createDate,
+                                              @Param("id") Integer id, Limit limit);
+
+    // 답변, 추천 등 질문 엔티티를 저장하지 않는 변경에서 마지막 변경 일시만 갱신
+    // 카운터 update들은 2차 캐시 영역 전체를 비우지 않도록 쿼리 공간을 지정함 - 호출한 서비스가 EntityCacheEvictor로 해당 질문만 지움
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = EntityCacheEvictor.COUNTERS))
+    @Query(value = "update question set activity_date = :date where id = :id", nativeQuery = true)
+    int touch(@Param("id") Integer id, @Param("date") LocalDateTime date);
+
+    // 답변 개수 증감 - 읽고 쓰는 대신 DB에서 바로 더해서 동시에 답변이 달려도 개수가 어긋나지 않음
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = EntityCacheEvictor.COUNTERS))
+    @Query(value = "update question set answer_count = answer_count + :delta where id = :id", nativeQuery = true)
+    int addAnswerCount(@Param("id") Integer id, @Param("delta") int delta);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = EntityCacheEvictor.COUNTERS))
+    @Query(value = "update question set vote_count = vote_count + 1 where id = :id", nativeQuery = true)
+    int incrementVoteCount(@Param("id") Integer id);
+
+    // 추천 기록 - voter 컬렉션을 읽지 않고 (질문, 사용자) 한 행만 추가
+    // 중복 추천은 question_voter의 기본키가 막아 주며, 이미 추천한 경우 0을 리턴 (MySQL 호환 모드의 insert ignore)
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "question_voter"))
+    @Query(value = "insert ignore into question_voter (question_id, voter_id) values (:questionId, :voterId)",
+            nativeQuery = true)
+    int insertVoter(@Param("questionId") Integer questionId, @Param("voterId") Long voterId);
+
+    // 답변 개수와 추천 수를 실제 테이블 기준으로 다시 계산 - 어긋난 행만 수정
+    @Modifying
+    @Query(value = "update question q set "
+            + "answer_count = (select count(*) from answer a where a.question_id = q.id), "
+            + "vote_count = (select count(*) from question_voter v where v.question_id = q.id) "
+            + "where q.answer_count <> (select count(*) from answer a where a.question_id = q.id) "
+            + "or q.vote_count <> (select count(*) from question_voter v where v.question_id = q.id)",
+            nativeQuery = true)
+    int repairCounts();
+
+    // 변환된 HTML이 없는 질문 - 마크다운 일괄 변환용
+    @Query("select new com.jumptospringboot.sbb.MarkdownSource(q.id, q.content) from Question q "
+            + "where q.contentHtml is null and q.id > :id order by q.id")
+    List<MarkdownSource> findMarkdownSources(@Param("id") Integer id, Limit limit);
+
+    // 그 사이에 수정되어 HTML이 저장된 경우에는 덮어쓰지 않음
+    @Modifying
+    @Query("update Question q set q.contentHtml = :html where q.id = :id and q.contentHtml is null")
+    int updateContentHtml(@Param("id") Integer id, @Param("html") String html);
+
+    // 검색 색인 재구축용 - 엔티티 대신 색인에 필요한 열만 id 순서로 끊어서 조회
+    @Query("select new com.jumptospringboot.sbb.search.IndexSource(q.id, q.id, q.subject, q.content, u.username, q.createDate) "
+            + "from Question q left join q.author u "
+            + "where q.id > :id order by q.id")
+    List<IndexSource> findIndexSources(@Param("id") Integer id, Limit limit);
 
     /*
     @Query는 반드시 테이블 기준이 아닌 엔티티 기준으로 작성
@@ -1,21 +1,34 @@
 package com.jumptospringboot.sbb.question;
 
+import com.jumptospringboot.sbb.CommonUtil;
 import com.jumptospringboot.sbb.DataNotFoundException;
 import com.jumptospringboot.sbb.answer.Answer;
+import com.jumptospringboot.sbb.answer.AnswerService;
+import com.jumptospringboot.sbb.cache.EntityCacheEvictor;
+import com.jumptospringboot.sbb.search.SearchIndex;
 import com.jumptospringboot.sbb.user.SiteUser;
 import jakarta.persistence.criteria.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 // 서비스가 필요한 이유
 // 1. 복잡한 코드를 모듈화할 수 있음
@@ -25,7 +38,17 @@ import java.util.Optional;
 // 생성자 자동 주입 어노테이션
 @RequiredArgsConstructor
 public class QuestionService {
+    // 커서 방식 페이징에서 한 번에 보여 줄 게시물 개수
+    private static final int SLICE_SIZE = 10;
+
     private final QuestionRepository questionRepository;
+    private final AnswerService answerService;
+    private final SearchIndex searchIndex;
+    private final CommonUtil commonUtil;
+    private final ViewCountAccumulator viewCountAccumulator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityCacheEvictor entityCacheEvictor;
+    private final QuestionCount questionCount;
 
     // 질문 목록 데이터를 조회하여 리턴 => 원래 Repository에서 하던 일
 //    public List<Question> getList() {
@@ -33,18 +56,105 @@ public class QuestionService {
 //    }
 
     // 페이징
-    public Page<Question> getList(int page, String kw) {
+    // 조회는 읽기 전용 트랜잭션 - 플러시와 변경 감지를 하지 않고 엔티티의 스냅샷(변경 전 상태 복사본)을 만들지 않음
+    // 목록에 보이는 열만 조회(QuestionListItem) - 질문 본문과 엔티티를 읽지 않음
+    // 전체 개수(페이징, 게시물 번호)는 count 쿼리 대신 QuestionCount에 유지된 값을 사용
+    @Transactional(readOnly = true)
+    public Page<QuestionListItem> getList(int page, String kw) {
         // 최신순(역순)으로 데이터 조회
         // sort.add 메서드를 통해 정렬 조건 추가 가능
         // desc 내림차순, asc 오름차순
         List<Sort.Order> sorts = new ArrayList<>();
         sorts.add(Sort.Order.desc("createDate"));
         Pageable pageable = PageRequest.of(page, 10, Sort.by(sorts)); // PageRequest.of(page, 10) => page는 조회할 페이지의 번호, 10은 한 페이지에 보여 줄 게시물 개수
-        Specification<Question> spec = search(kw); // 검색어를 의미하는 매개변수 kw
-        return this.questionRepository.findAll(spec, pageable);
+        if (kw == null || kw.isEmpty()) {
+            return new PageImpl<>(this.questionRepository.findListItems(pageable), pageable, this.questionCount.total());
+        }
+        // 색인을 만드는 중이거나 문서가 너무 많아 색인을 끈 경우에는 기존 LIKE 검색으로 대신함
+        if (!this.searchIndex.isReady()) {
+            List<QuestionListItem> content = this.questionRepository.searchListItems(kw, pageable); // 검색어를 의미하는 매개변수 kw
+            return new PageImpl<>(content, pageable,
+                    this.questionCount.keywordTotal(kw, () -> this.questionRepository.countByKeyword(kw)));
+        }
+        // 검색 색인에서 해당 페이지의 질문 id(최신순)와 전체 개수를 찾고, 그 질문만 DB에서 조회
+        SearchIndex.Hits hits = this.searchIndex.search(kw, pageable.getOffset(), pageable.getPageSize());
+        return new PageImpl<>(findListItems(hits.ids()), pageable, hits.total());
+    }
+
+    // 커서(seek) 방식 페이징 - OFFSET과 count 쿼리 없이 (createDate, id) 위치에서 바로 다음 목록을 조회
+    // after: 이 커서보다 오래된 목록, before: 이 커서보다 최신 목록, 둘 다 없으면 첫 목록
+    @Transactional(readOnly = true)
+    public QuestionSlice getSlice(String after, String before, String kw) {
+        QuestionCursor cursor = after != null ? QuestionCursor.decode(after)
+                : before != null ? QuestionCursor.decode(before) : null;
+        boolean backward = after == null && before != null;
+        if (kw != null && !kw.isEmpty()) {
+            return getSearchSlice(cursor, backward, kw);
+        }
+
+        Limit limit = Limit.of(SLICE_SIZE + 1); // 다음 목록이 있는지 확인하기 위해 하나 더 조회
+        if (cursor == null) {
+            List<QuestionListItem> list = this.questionRepository.findLatest(limit);
+            return toSlice(list, false, false);
+        }
+        if (backward) {
+            List<QuestionListItem> list = this.questionRepository.findLatestBefore(cursor.createDate(), cursor.id(), limit);
+            return toSlice(list, true, true);
+        }
+        List<QuestionListItem> list = this.questionRepository.findLatestAfter(cursor.createDate(), cursor.id(), limit);
+        return toSlice(list, false, true);
+    }
+
+    private QuestionSlice getSearchSlice(QuestionCursor cursor, boolean backward, String kw) {
+        if (!this.searchIndex.isReady()) {
+            // 색인을 만드는 중이거나 끈 경우에는 LIKE 검색에 커서 조건을 더해서 조회 - 검색어가 없을 때와 같이 목록 열만, count 없이
+            Limit limit = Limit.of(SLICE_SIZE + 1);
+            if (cursor == null) {
+                return toSlice(this.questionRepository.searchLatest(kw, limit), false, false);
+            }
+            if (backward) {
+                return toSlice(this.questionRepository.searchLatestBefore(kw, cursor.createDate(), cursor.id(), limit),
+                        true, true);
+            }
+            return toSlice(this.questionRepository.searchLatestAfter(kw, cursor.createDate(), cursor.id(), limit),
+                    false, true);
+        }
+
+        // 이전/다음 목록 존재 여부는 DB 조회와 같은 기준 - 커서 반대쪽은 항상 있다고 봄
+        if (cursor == null) {
+            SearchIndex.Hits hits = this.searchIndex.search(kw, 0, SLICE_SIZE);
+            return new QuestionSlice(findListItems(hits.ids()), false, hits.total() > SLICE_SIZE);
+        }
+        SearchIndex.Hits hits = this.searchIndex.seek(kw, cursor.createDate(), cursor.id(), !backward, SLICE_SIZE);
+        boolean more = hits.total() > SLICE_SIZE;
+        List<QuestionListItem> content = findListItems(hits.ids());
+        return backward ? new QuestionSlice(content, more, true) : new QuestionSlice(content, true, more);
+    }
+
+    // 검색 색인이 찾은 id 순서대로 목록 항목을 조회 - 그 사이에 삭제된 질문은 빠짐
+    private List<QuestionListItem> findListItems(List<Integer> pageIds) {
+        Map<Integer, QuestionListItem> questions = this.questionRepository.findListItemsByIdIn(pageIds).stream()
+                .collect(Collectors.toMap(QuestionListItem::id, Function.identity()));
+        return pageIds.stream()
+                .map(questions::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    // 한 개 더 조회한 결과로 이전/다음 목록 존재 여부를 판단
+    // backward인 경우 오름차순으로 조회했으므로 다시 최신순으로 뒤집음
+    private QuestionSlice toSlice(List<QuestionListItem> list, boolean backward, boolean hasCursor) {
+        boolean more = list.size() > SLICE_SIZE;
+        List<QuestionListItem> content = new ArrayList<>(more ? list.subList(0, SLICE_SIZE) : list);
+        if (backward) {
+            Collections.reverse(content);
+            return new QuestionSlice(content, more, true);
+        }
+        return new QuestionSlice(content, hasCursor, more);
     }
 
     // 상세 페이지에 서비스 활용
+    @Transactional(readOnly = true)
     public Question getQuestion(Integer id) {
         // Optional 객체는 값이 있을 수도 있고, 없을 수도 있을 때 사용
         Optional<Question> question = this.questionRepository.findById(id);
@@ -56,37 +166,91 @@ public class QuestionService {
         }
     }
 
+    // 상세 화면 조회 - 답변이 몇 개든 질문+작성자 1번, 답변 한 페이지+작성자 1번의 쿼리로 끝남
+    // 2차 캐시에 있으면 질문, 작성자, 답변 페이지 모두 DB에 가지 않음 (작성자는 즉시 로딩이라 findById도 join 한 번으로 조회)
+    // 추천 수와 답변 수는 카운터 열을 사용하므로 voter, answerList 컬렉션은 읽지 않음
+    // 하나의 트랜잭션(영속성 컨텍스트)에서 조회해야 답변의 question이 다시 조회되지 않음
+    @Transactional(readOnly = true)
+    public QuestionDetail getQuestionDetail(Integer id, int answerPage, String sort) {
+        Question question = this.questionRepository.findById(id)
+                .orElseThrow(() -> new DataNotFoundException("question not found"));
+        Page<Answer> answerPaging = this.answerService.getList(question, answerPage, sort);
+        return new QuestionDetail(question, answerPaging);
+    }
+
+    // 상세 화면의 마지막 변경 일시 - 바뀌지 않았으면 답변을 읽거나 화면을 만들지 않고 304로 응답하기 위함
+    // 날짜만 조회하는 쿼리 대신 2차 캐시의 질문을 사용 (이어서 getQuestionDetail이 같은 질문을 캐시에서 꺼냄)
+    // 이 열이 추가되기 전의 행은 activityDate가 null이므로 modifyDate, createDate 순으로 대신 사용
+    @Transactional(readOnly = true)
+    public LocalDateTime getActivityDate(Integer id) {
+        Question question = getQuestion(id);
+        return Objects.requireNonNullElse(question.getActivityDate(),
+                Objects.requireNonNullElse(question.getModifyDate(), question.getCreateDate()));
+    }
+
+    // 조회수 증가 - 메모리에 모아 두었다가 주기적으로 반영하므로 조회 요청에서는 DB에 쓰지 않음
+    public void increaseViewCount(Integer id) {
+        this.viewCountAccumulator.record(id);
+    }
+
     // 질문 데이터 저장
+    @Transactional
     public void create(String subject, String content, SiteUser user) {
         Question question = new Question();
         question.setSubject(subject);
         question.setContent(content);
+        question.setContentHtml(this.commonUtil.render(content)); // 저장할 때 한 번만 마크다운 변환
         question.setCreateDate(LocalDateTime.now());
+        question.setActivityDate(question.getCreateDate());
         question.setAuthor(user);
         this.questionRepository.save(question);
+        this.questionCount.add(1);
+        this.searchIndex.indexQuestion(question);
+        this.eventPublisher.publishEvent(new QuestionChangedEvent(question.getId()));
     }
 
-    // 질문 서비스 수정
+    // 질문 서비스 수정 - question은 다른 트랜잭션에서 조회한 준영속 객체이므로 save(merge)로 반영
+    @Transactional
     public void modify(Question question, String subject, String content) {
         question.setSubject(subject);
         question.setContent(content);
+        question.setContentHtml(this.commonUtil.render(content));
         question.setModifyDate(LocalDateTime.now());
+        question.setActivityDate(question.getModifyDate());
         this.questionRepository.save(question);
+        // 준영속 객체를 merge하면 갱신하지 않는 카운터 열(answerCount 등)도 조회 당시 값으로 캐시에 들어가므로 지움
+        this.entityCacheEvictor.evict(Question.class, question.getId());
+        this.searchIndex.indexQuestion(question);
+        this.eventPublisher.publishEvent(new QuestionChangedEvent(question.getId()));
     }
 
     // 질문 삭제 가능
+    @Transactional
     public void delete(Question question) {
         this.questionRepository.delete(question);
+        this.questionCount.add(-1);
+        this.searchIndex.removeQuestion(question.getId());
+        this.eventPublisher.publishEvent(new QuestionChangedEvent(question.getId()));
     }
 
-    // 추천 기능
-    public void vote(Question question, SiteUser siteUser) {
-        question.getVoter().add(siteUser);
-        this.questionRepository.save(question);
+    // 추천 기능 - 추천자 행 하나만 추가하고, 처음 추천한 경우에만 같은 트랜잭션에서 추천 수 증가
+    // 추천자가 몇 명이든 비용이 같고, 동시에 추천해도 DB가 중복을 막으므로 추천 수가 정확함
+    // 리턴값: 새로운 추천이면 true, 이미 추천했으면 false
+    @Transactional
+    public boolean vote(Question question, SiteUser siteUser) {
+        boolean added = this.questionRepository.insertVoter(question.getId(), siteUser.getId()) > 0;
+        if (added) {
+            this.questionRepository.incrementVoteCount(question.getId());
+            this.questionRepository.touch(question.getId(), LocalDateTime.now());
+            this.entityCacheEvictor.evict(Question.class, question.getId());
+            this.eventPublisher.publishEvent(new QuestionChangedEvent(question.getId()));
+        }
+        return added;
     }
 
     // 검색 기능 - 제목, 내용, 질문작성자, 답변내용, 답변작성자를 OR 조건으로 검색
-    private Specification<Question> search(String kw) {
+    // 목록 조회는 QuestionRepository의 JPQL 검색(KEYWORD)을 사용 - 이 Specification은 그 결과를 비교하는 기준(테스트, 벤치마크)
+    Specification<Question> search(String kw) {
         return new Specification<>() {
             private static final long serialVersionUID = 1L;
 
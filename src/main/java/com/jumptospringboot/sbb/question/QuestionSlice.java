@@ -0,0 +1,20 @@
+package com.jumptospringboot.sbb.question;
+
+import java.util.List;
+
+// 커서 방식 페이징 결과 - 전체 개수(count 쿼리) 없이 이전/다음 커서만 가짐
+public record QuestionSlice(List<QuestionListItem> content, boolean hasPrevious, boolean hasNext) {
+    public boolean isEmpty() {
+        return content.isEmpty();
+    }
+
+    // 이전 목록 조회 시 사용 - 현재 목록의 첫 번째 질문
+    public String getPreviousCursor() {
+        return content.isEmpty() ? null : QuestionCursor.of(content.get(0)).encode();
+    }
+
+    // 다음 목록 조회 시 사용 - 현재 목록의 마지막 질문
+    public String getNextCursor() {
+        return content.isEmpty() ? null : QuestionCursor.of(content.get(content.size() - 1)).encode();
+    }
+}
@@ -0,0 +1,12 @@
+package com.jumptospringboot.sbb.question;
+
+import java.time.LocalDateTime;
+
+// JSON API 목록의 질문 한 건 - 본문 없이 목록 화면에 보이는 값만 담음
+public record QuestionSummaryResponse(Integer id, String subject, String author, LocalDateTime createDate,
+                                      int answerCount, int voteCount, long viewCount) {
+    public static QuestionSummaryResponse of(QuestionListItem question) {
+        return new QuestionSummaryResponse(question.id(), question.subject(), question.author(),
+                question.createDate(), question.answerCount(), question.voteCount(), question.viewCount());
+    }
+}
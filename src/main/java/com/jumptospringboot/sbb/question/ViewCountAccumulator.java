@@ -0,0 +1,141 @@
+package com.jumptospringboot.sbb.question;
+
+import com.jumptospringboot.sbb.cache.EntityCacheEvictor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 질문 조회수 누적기
+// 상세 화면을 볼 때마다 UPDATE를 실행하지 않고 메모리에 모아 두었다가 주기적으로 한 번에 반영(write-behind)
+// 인기 글에 조회가 몰려도 경합하지 않도록 스레드별로 나눈 여러 개의 맵(stripe)에 나누어 더함
+@Slf4j
+@Component
+public class ViewCountAccumulator {
+    private static final String FLUSH_SQL = "update question set view_count = view_count + ? where id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityCacheEvictor entityCacheEvictor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxBufferedKeys;
+
+    // 질문 id => 아직 반영하지 않은 조회수
+    private final ConcurrentHashMap<Integer, Long>[] stripes;
+    // 아직 반영하지 않은 조회수가 있는 질문 id - 한 질문이 여러 stripe에 있어도 한 번만 셈
+    private final Set<Integer> bufferedIds = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Timer flushTimer;
+
+    @SuppressWarnings("unchecked")
+    public ViewCountAccumulator(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                EntityCacheEvictor entityCacheEvictor,
+                                ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry,
+                                @Value("${sbb.view-count.max-buffered-keys:10000}") int maxBufferedKeys) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.entityCacheEvictor = entityCacheEvictor;
+        this.eventPublisher = eventPublisher;
+        this.maxBufferedKeys = maxBufferedKeys;
+        this.stripes = new ConcurrentHashMap[Runtime.getRuntime().availableProcessors() * 2];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new ConcurrentHashMap<>();
+        }
+        this.flushTimer = Timer.builder("sbb.question.views.flush")
+                .description("조회수를 DB에 반영하는 데 걸린 시간")
+                .register(meterRegistry);
+        Gauge.builder("sbb.question.views.backlog", this.bufferedIds, Set::size)
+                .description("아직 DB에 반영하지 않은 질문 수")
+                .register(meterRegistry);
+    }
+
+    // 조회 1회 기록 - 메모리에만 더하므로 DB에 접근하지 않음
+    public void record(Integer questionId) {
+        ConcurrentHashMap<Integer, Long> stripe = this.stripes[(int) (Thread.currentThread().threadId() % this.stripes.length)];
+        if (stripe.merge(questionId, 1L, Long::sum) == 1L
+                && this.bufferedIds.add(questionId)
+                && this.bufferedIds.size() > this.maxBufferedKeys
+                && this.flushLock.tryLock()) {
+            // 쌓인 질문이 너무 많으면 주기를 기다리지 않고 이 요청 스레드에서 바로 반영
+            // (스케줄러에 맡기면 다른 @Scheduled 작업 뒤에서 기다리는 동안 계속 쌓임)
+            // 이미 반영 중이면 그 반영이 꺼내 가므로 기다리지 않고 넘어감
+            try {
+                flush();
+            } finally {
+                this.flushLock.unlock();
+            }
+        }
+    }
+
+    // 쌓인 조회수를 하나의 배치 UPDATE로 반영
+    @Scheduled(fixedDelayString = "${sbb.view-count.flush-interval-ms:10000}")
+    public void flush() {
+        this.flushLock.lock();
+        try {
+            Map<Integer, Long> deltas = drain();
+            if (deltas.isEmpty()) {
+                return;
+            }
+            List<Object[]> args = new ArrayList<>(deltas.size());
+            deltas.forEach((id, delta) -> args.add(new Object[]{delta, id}));
+            try {
+                // auto-commit이 꺼져 있으므로 트랜잭션 안에서 실행해야 커밋됨
+                // 2차 캐시의 질문은 조회수가 반영 전 값이므로 반영한 질문만 지움 (인기 글도 반영 주기마다 한 번만 다시 읽음)
+                // 목록 화면에도 조회수가 보이므로 반영한 질문이 들어 있는 목록 표만 캐시에서 지움 (목록 버전은 그대로)
+                this.flushTimer.record(() -> this.transactionTemplate.executeWithoutResult(status -> {
+                    this.jdbcTemplate.batchUpdate(FLUSH_SQL, args);
+                    deltas.keySet().forEach(id -> this.entityCacheEvictor.evict(Question.class, id));
+                    this.eventPublisher.publishEvent(new ViewCountsFlushedEvent(Set.copyOf(deltas.keySet())));
+                }));
+            } catch (RuntimeException e) {
+                // 반영에 실패한 조회수는 버리지 않고 다시 쌓아 두었다가 다음에 반영
+                log.warn("view count flush failed, {} questions kept for retry", deltas.size(), e);
+                deltas.forEach(this::restore);
+            }
+        } finally {
+            this.flushLock.unlock();
+        }
+    }
+
+    // 애플리케이션 종료 시 남은 조회수를 모두 반영
+    @PreDestroy
+    public void drainOnShutdown() {
+        flush();
+    }
+
+    // 질문마다 모든 stripe에서 조회수를 꺼냄 - remove는 원자적이므로 꺼낸 뒤에 더해진 조회수는 다음 반영에 포함됨
+    // 질문 id를 stripe보다 먼저 지우므로, 그 사이에 다시 기록된 질문은 id가 다시 들어가서 다음 반영 때 꺼내짐
+    private Map<Integer, Long> drain() {
+        Map<Integer, Long> deltas = new TreeMap<>(); // id 순서로 UPDATE해서 잠금 순서를 일정하게 유지
+        for (Integer id : this.bufferedIds) {
+            this.bufferedIds.remove(id);
+            for (ConcurrentHashMap<Integer, Long> stripe : this.stripes) {
+                Long delta = stripe.remove(id);
+                if (delta != null) {
+                    deltas.merge(id, delta, Long::sum);
+                }
+            }
+        }
+        return deltas;
+    }
+
+    private void restore(Integer id, Long delta) {
+        this.stripes[0].merge(id, delta, Long::sum);
+        this.bufferedIds.add(id);
+    }
+}
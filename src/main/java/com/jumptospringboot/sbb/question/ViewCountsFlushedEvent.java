@@ -0,0 +1,8 @@
+package com.jumptospringboot.sbb.question;
+
+import java.util.Set;
+
+// 조회수를 DB에 반영했음을 알리는 이벤트 - 반영한 질문의 조회수가 보이는 목록 표만 다시 만들도록 (QuestionListCache)
+// 목록 전체의 버전(QuestionListVersion)은 올리지 않음
+public record ViewCountsFlushedEvent(Set<Integer> questionIds) {
+}
@@ -0,0 +1,145 @@
+package com.jumptospringboot.sbb.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+// 로컬 복제 DB 대역 - 실제 복제(MySQL 레플리카 등) 대신 주 DB의 내용을 sbb.replica.lag-ms마다 복제 DB(H2)로 통째로 복사
+// 복제 DB는 최대 lag-ms만큼 주 DB보다 늦으므로 복제 지연과 read-your-writes를 로컬에서 확인할 수 있음
+// 테이블마다 지우고 다시 넣는 작업을 한 트랜잭션으로 반영하므로 복사 중에도 복제 DB 조회는 이전 내용을 봄
+// 매번 전체를 복사하므로 개발/테스트용 데이터 크기에서만 사용
+// 복사가 끝나면 ReplicaSyncedEvent를 발행 (복제 DB에서 읽어 만든 목록 화면의 버전을 갱신하도록)
+@Slf4j
+@Profile("replica")
+@Component
+public class LocalReplica implements SmartInitializingSingleton {
+    private static final int BATCH_SIZE = 500;
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ApplicationEventPublisher eventPublisher;
+    private boolean schemaCopied;
+    private volatile long lastSync;
+
+    // 풀 커넥션을 직접 사용 - 복사 SQL이 느린 SQL 로그와 요청별 쿼리 수에 섞이지 않도록 모니터링 DataSource를 벗김
+    public LocalReplica(@Qualifier("primaryDataSource") DataSource primary,
+                        @Qualifier("replicaDataSource") DataSource replica,
+                        ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) throws SQLException {
+        this.primary = unwrapPool(primary);
+        this.replica = unwrapPool(replica);
+        this.eventPublisher = eventPublisher;
+        Gauge.builder("sbb.replica.lag", this, LocalReplica::lagMillis)
+                .description("마지막으로 복제 DB에 반영한 뒤 지난 시간(ms)")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    // 스키마 생성(ddl-auto)이 끝난 뒤, 요청을 받기 전에 처음 복사
+    @Override
+    public void afterSingletonsInstantiated() {
+        sync();
+    }
+
+    @Scheduled(initialDelayString = "${sbb.replica.lag-ms:1000}", fixedDelayString = "${sbb.replica.lag-ms:1000}")
+    public synchronized void sync() {
+        long started = System.currentTimeMillis();
+        try (Connection source = this.primary.getConnection(); Connection target = this.replica.getConnection()) {
+            if (!this.schemaCopied) {
+                copySchema(source, target);
+                this.schemaCopied = true;
+            }
+            for (String table : tables(source)) {
+                copyTable(source, target, table);
+            }
+            target.commit();
+            source.rollback();
+            this.lastSync = started;
+        } catch (SQLException e) {
+            log.warn("replica sync failed", e);
+            return;
+        }
+        this.eventPublisher.publishEvent(new ReplicaSyncedEvent(started));
+    }
+
+    private long lagMillis() {
+        return this.lastSync == 0 ? 0 : System.currentTimeMillis() - this.lastSync;
+    }
+
+    // 주 DB의 스키마(테이블, 시퀀스, 제약 조건)를 그대로 만들고, 테이블 순서와 상관없이 넣을 수 있도록 참조 무결성 검사를 끔
+    private void copySchema(Connection source, Connection target) throws SQLException {
+        try (Statement script = source.createStatement();
+             ResultSet rows = script.executeQuery("script nodata");
+             Statement statement = target.createStatement()) {
+            while (rows.next()) {
+                statement.execute(rows.getString(1));
+            }
+            statement.execute("set referential_integrity false");
+        }
+        target.commit();
+    }
+
+    private List<String> tables(Connection source) throws SQLException {
+        List<String> tables = new ArrayList<>();
+        try (Statement statement = source.createStatement();
+             ResultSet rows = statement.executeQuery("select table_name from information_schema.tables "
+                     + "where table_schema = 'PUBLIC' and table_type = 'BASE TABLE'")) {
+            while (rows.next()) {
+                tables.add(rows.getString(1));
+            }
+        }
+        return tables;
+    }
+
+    private void copyTable(Connection source, Connection target, String table) throws SQLException {
+        try (Statement delete = target.createStatement()) {
+            delete.executeUpdate("delete from \"" + table + "\"");
+        }
+        try (Statement select = source.createStatement();
+             ResultSet rows = select.executeQuery("select * from \"" + table + "\"")) {
+            ResultSetMetaData meta = rows.getMetaData();
+            int columns = meta.getColumnCount();
+            String sql = "insert into \"" + table + "\" values (" + "?, ".repeat(columns - 1) + "?)";
+            try (PreparedStatement insert = target.prepareStatement(sql)) {
+                int batched = 0;
+                while (rows.next()) {
+                    for (int i = 1; i <= columns; i++) {
+                        // LOB은 다른 DB의 커넥션에 넘길 수 없으므로 값으로 읽어서 넣음
+                        switch (meta.getColumnType(i)) {
+                            case Types.CLOB, Types.NCLOB -> insert.setString(i, rows.getString(i));
+                            case Types.BLOB -> insert.setBytes(i, rows.getBytes(i));
+                            default -> insert.setObject(i, rows.getObject(i));
+                        }
+                    }
+                    insert.addBatch();
+                    if (++batched % BATCH_SIZE == 0) {
+                        insert.executeBatch();
+                    }
+                }
+                insert.executeBatch();
+            }
+        }
+    }
+
+    private static DataSource unwrapPool(DataSource dataSource) throws SQLException {
+        return dataSource.isWrapperFor(HikariDataSource.class)
+                ? dataSource.unwrap(HikariDataSource.class) : dataSource;
+    }
+}
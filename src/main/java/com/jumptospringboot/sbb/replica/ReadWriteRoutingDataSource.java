@@ -0,0 +1,74 @@
+package com.jumptospringboot.sbb.replica;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+// 읽기/쓰기 분리 DataSource - 지정한 서비스의 읽기 전용 트랜잭션만 복제 DB로, 나머지는 모두 주 DB로 보냄
+// LazyConnectionDataSourceProxy 뒤에 두므로 트랜잭션 속성(읽기 전용, 트랜잭션 이름)이 정해진 뒤 첫 SQL을 실행할 때 대상을 고름
+// 트랜잭션 이름은 @Transactional 메서드의 "클래스.메서드" 이름이고, 안쪽 서비스 호출은 바깥 트랜잭션에 참여하므로 바깥 메서드 기준
+// 복제 DB에서 읽는 트랜잭션은 2차 캐시에 넣지 않음(CacheMode.GET) - EntityCacheEvictor가 지운 직후 아직 복제되지 않은
+// 이전 행을 읽어서 다시 넣으면 복제된 뒤에도 캐시 유효 시간 동안 이전 값이 보이므로 캐시는 주 DB에서 읽은 값으로만 채움
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    enum Target { PRIMARY, REPLICA }
+
+    // 복제 DB에서 읽어도 되는 트랜잭션 이름 접두사 (서비스 클래스 이름 + ".")
+    private final List<String> replicaReaders;
+    private final ReadYourWrites readYourWrites;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica,
+                                      List<Class<?>> replicaReaders, ReadYourWrites readYourWrites) {
+        this.replicaReaders = replicaReaders.stream().map(type -> type.getName() + ".").toList();
+        this.readYourWrites = readYourWrites;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        // 트랜잭션 밖(스키마 생성, 배치 작업 등)은 주 DB
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Target.PRIMARY;
+        }
+        // 쓰기 트랜잭션은 주 DB - 이 세션의 이후 조회도 잠시 주 DB에서 읽도록 기록
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            this.readYourWrites.wrote();
+            return Target.PRIMARY;
+        }
+        if (isReplicaReader(TransactionSynchronizationManager.getCurrentTransactionName())
+                && !this.readYourWrites.pinned()) {
+            disableCachePuts();
+            return Target.REPLICA;
+        }
+        return Target.PRIMARY;
+    }
+
+    // 현재 트랜잭션의 영속성 컨텍스트(open-in-view를 끄므로 트랜잭션마다 새로 만들어짐)만 바뀜
+    // 조회 결과를 캐시에 넣는 것은 SQL을 실행한 뒤이므로 커넥션을 고르는 지금 바꾸면 됨
+    private static void disableCachePuts() {
+        for (Object resource : TransactionSynchronizationManager.getResourceMap().values()) {
+            if (resource instanceof EntityManagerHolder holder) {
+                holder.getEntityManager().unwrap(Session.class).setCacheMode(CacheMode.GET);
+            }
+        }
+    }
+
+    private boolean isReplicaReader(String transactionName) {
+        if (transactionName == null) {
+            return false;
+        }
+        for (String prefix : this.replicaReaders) {
+            if (transactionName.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
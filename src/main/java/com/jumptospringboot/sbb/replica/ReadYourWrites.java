@@ -0,0 +1,48 @@
+package com.jumptospringboot.sbb.replica;
+
+import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+// 자기가 쓴 글은 바로 보이도록(read-your-writes) 쓰기 직후 일정 시간 동안 그 세션의 조회를 주 DB로 고정
+// 예) 답변 등록 후 리다이렉트된 상세 화면이 아직 복제되지 않은 복제 DB를 읽어서 새 답변이 빠지는 것을 막음
+// 글쓰기는 로그인해야 하므로 이미 있는 HTTP 세션에 기록하고, 요청 밖(스케줄 작업 등)의 쓰기는 무시
+@Profile("replica")
+@Component
+public class ReadYourWrites {
+    private static final String PINNED_UNTIL = ReadYourWrites.class.getName() + ".pinnedUntil";
+
+    private final long stickyMillis;
+
+    // sticky는 복제 지연(sbb.replica.lag-ms)보다 길어야 함
+    public ReadYourWrites(@Value("${sbb.replica.sticky:5s}") Duration sticky) {
+        this.stickyMillis = sticky.toMillis();
+    }
+
+    // 현재 요청의 세션이 방금 쓰기를 했음을 기록
+    public void wrote() {
+        HttpSession session = currentSession();
+        if (session != null) {
+            session.setAttribute(PINNED_UNTIL, System.currentTimeMillis() + this.stickyMillis);
+        }
+    }
+
+    // 현재 요청의 세션이 주 DB에서 읽어야 하는지 여부
+    public boolean pinned() {
+        HttpSession session = currentSession();
+        return session != null && session.getAttribute(PINNED_UNTIL) instanceof Long until
+                && until > System.currentTimeMillis();
+    }
+
+    private static HttpSession currentSession() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return attributes.getRequest().getSession(false);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,53 @@
+package com.jumptospringboot.sbb.replica;
+
+import com.jumptospringboot.sbb.answer.AnswerService;
+import com.jumptospringboot.sbb.question.QuestionService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.List;
+
+// 읽기/쓰기 분리 - replica 프로필에서만 동작 (예: spring.profiles.active=dev,replica)
+// 주 DB 풀(spring.datasource)과 복제 DB 풀(sbb.replica.hikari)을 따로 만들고,
+// 애플리케이션(JPA, JdbcTemplate)은 둘 중 하나로 보내는 라우팅 DataSource를 사용
+// 두 풀은 각각 빈으로 등록되므로 풀 메트릭과 쿼리 모니터링(QueryMonitoringPostProcessor)이 풀마다 따로 적용됨
+@Configuration(proxyBeanMethods = false)
+@Profile("replica")
+public class ReplicaDataSourceConfig {
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("sbb.replica.hikari")
+    public HikariDataSource replicaDataSource() {
+        return new HikariDataSource();
+    }
+
+    // 트랜잭션 매니저는 트랜잭션을 시작할 때 커넥션을 얻으므로 LazyConnectionDataSourceProxy로 실제 커넥션을 첫 SQL까지 미룸
+    // (그 시점에는 읽기 전용 여부와 트랜잭션 이름이 정해져 있음)
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReadYourWrites readYourWrites) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, replica,
+                List.of(QuestionService.class, AnswerService.class), readYourWrites);
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(routing);
+        // 풀 설정(auto-commit: false)과 같게 지정 - 기본값을 알아내려고 미리 커넥션을 얻지 않도록
+        proxy.setDefaultAutoCommit(false);
+        proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return proxy;
+    }
+}
@@ -0,0 +1,5 @@
+package com.jumptospringboot.sbb.replica;
+
+// 복제 DB가 주 DB를 따라잡았음을 알리는 이벤트 - startedAt(ms) 이전에 주 DB에 커밋된 변경은 모두 복제 DB에도 있음
+public record ReplicaSyncedEvent(long startedAt) {
+}
@@ -0,0 +1,9 @@
+package com.jumptospringboot.sbb.search;
+
+import java.time.LocalDateTime;
+
+// 색인 재구축 시 엔티티 전체 대신 색인에 필요한 열만 조회하기 위한 DTO
+// 답변의 경우 subject는 빈 문자열, questionId는 답변이 달린 질문의 id
+public record IndexSource(Integer id, Integer questionId, String subject, String content,
+                          String username, LocalDateTime createDate) {
+}
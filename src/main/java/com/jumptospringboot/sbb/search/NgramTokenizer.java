@@ -0,0 +1,67 @@
+package com.jumptospringboot.sbb.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// 한국어는 띄어쓰기만으로 단어를 나눌 수 없으므로 2글자 단위(bigram)로 잘라서 색인함
+// 예) "스프링부트" => "스프", "프링", "링부", "부트"
+// 토큰마다 등장 위치를 함께 저장해 두면 LIKE '%kw%'와 같은 부분 문자열 검색을 그대로 재현할 수 있음
+public final class NgramTokenizer {
+    // 필드 사이의 경계 문자 - 서로 다른 필드에 걸친 토큰이 검색되지 않도록 함
+    public static final char FIELD_SEPARATOR = '\u0000';
+
+    private NgramTokenizer() {
+    }
+
+    // 대소문자 구분 없이 검색하기 위해 소문자로 통일
+    public static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    // 여러 필드를 경계 문자로 이어 붙여 하나의 문서로 만듦
+    public static String join(String... fields) {
+        StringBuilder sb = new StringBuilder();
+        for (String field : fields) {
+            if (!sb.isEmpty()) {
+                sb.append(FIELD_SEPARATOR);
+            }
+            sb.append(normalize(field));
+        }
+        return sb.toString();
+    }
+
+    // 토큰 => 등장 위치(오름차순) 목록
+    // 한 글자짜리 필드는 bigram이 만들어지지 않으므로 한 글자 토큰으로 색인
+    public static Map<String, int[]> tokenize(String text) {
+        Map<String, List<Integer>> positions = new HashMap<>();
+        int start = 0;
+        for (int i = 0; i <= text.length(); i++) {
+            if (i < text.length() && text.charAt(i) != FIELD_SEPARATOR) {
+                continue;
+            }
+            if (i - start == 1) {
+                positions.computeIfAbsent(text.substring(start, i), k -> new ArrayList<>()).add(start);
+            }
+            for (int p = start; p + 2 <= i; p++) {
+                positions.computeIfAbsent(text.substring(p, p + 2), k -> new ArrayList<>()).add(p);
+            }
+            start = i + 1;
+        }
+
+        Map<String, int[]> result = new HashMap<>(positions.size());
+        positions.forEach((token, list) -> result.put(token, list.stream().mapToInt(Integer::intValue).toArray()));
+        return result;
+    }
+
+    // 검색어를 bigram으로 분해 - i번째 토큰은 검색어의 i번째 위치에서 시작함
+    public static List<String> queryTokens(String kw) {
+        List<String> tokens = new ArrayList<>();
+        for (int p = 0; p + 2 <= kw.length(); p++) {
+            tokens.add(kw.substring(p, p + 2));
+        }
+        return tokens;
+    }
+}
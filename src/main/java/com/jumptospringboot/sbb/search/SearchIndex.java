@@ -0,0 +1,556 @@
+package com.jumptospringboot.sbb.search;
+
+import com.jumptospringboot.sbb.answer.Answer;
+import com.jumptospringboot.sbb.answer.AnswerRepository;
+import com.jumptospringboot.sbb.question.Question;
+import com.jumptospringboot.sbb.question.QuestionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+
+// 질문과 답변에 대한 메모리 역색인(inverted index)
+// LIKE '%kw%'는 인덱스를 탈 수 없어 매번 전체 테이블을 조인해야 하므로,
+// bigram 토큰 => (문서 => 등장 위치) 형태로 색인해 두고 검색어 토큰의 교집합만 확인함
+// 문서가 수백만 개가 되어도 힙에 들어가도록 게시 목록은 int 배열에 이어 붙이기만 하고,
+// 수정/삭제된 문서는 표시만 해 두었다가 그런 문서가 많아지면 색인을 다시 만들어서 정리함
+// 색인은 커밋된 변경만 반영함 - 롤백된 글이 검색되거나, 다른 요청이 커밋 전의 글을 보지 않도록
+// 문서 수가 sbb.search.max-documents를 넘으면 색인을 비우고 DB 검색(QuestionService의 LIKE, keyset 쿼리)을 사용
+@Slf4j
+@Component
+public class SearchIndex {
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final QuestionRepository questionRepository;
+    private final AnswerRepository answerRepository;
+    // 정리 작업의 재구축을 실행할 스레드 - @Async와 같은 실행기 (스케줄러 스레드를 오래 붙잡지 않도록)
+    private final TaskExecutor taskExecutor;
+    // 색인할 최대 문서(질문 + 답변) 수 - 400자 문서 기준 약 4.5KB/문서
+    // 재구축 중에는 기존 색인과 새 색인이 함께 있으므로 힙에 이 수의 두 배가 들어가도록 조정
+    private final long maxDocuments;
+
+    // 검색에 사용하는 색인 - 재구축은 새 색인을 따로 만든 뒤 한 번에 바꿔 끼움
+    private Index index = new Index();
+    // 재구축 중에 반영된 변경 - 새 색인으로 바꾸기 직전에 다시 적용 (재구축이 읽은 뒤에 삭제된 글이 되살아나지 않도록)
+    // 재구축 중이 아니면 null
+    private List<Consumer<Index>> pending;
+    // 검색은 여러 요청이 동시에, 색인 변경은 하나씩
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 처음 색인이 완성되기 전에는 검색 결과를 신뢰할 수 없으므로 false
+    // 이후의 재구축(가져오기, 정리) 중에는 기존 색인으로 검색함
+    private volatile boolean ready = false;
+    // 문서 수가 maxDocuments를 넘어서 색인을 끈 경우 true - 변경을 반영하지 않음 (다음 재구축 때 다시 확인)
+    private boolean disabled = false;
+
+    public SearchIndex(QuestionRepository questionRepository, AnswerRepository answerRepository,
+                       @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor taskExecutor,
+                       @Value("${sbb.search.max-documents:100000}") long maxDocuments) {
+        this.questionRepository = questionRepository;
+        this.answerRepository = answerRepository;
+        this.taskExecutor = taskExecutor;
+        this.maxDocuments = maxDocuments;
+    }
+
+    // 검색 결과 - ids: 요청한 범위의 질문 id(최신순), total: 조건에 맞는 전체 질문 수
+    public record Hits(List<Integer> ids, int total) {
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // 질문 색인 - 제목, 내용, 질문 작성자
+    public void indexQuestion(Question question) {
+        Integer id = question.getId();
+        String username = question.getAuthor() == null ? null : question.getAuthor().getUsername();
+        String text = NgramTokenizer.join(question.getSubject(), question.getContent(), username);
+        long order = toOrder(question.getCreateDate());
+        afterCommit(index -> index.indexQuestion(id, text, order));
+    }
+
+    // 답변 색인 - 답변 내용, 답변 작성자
+    public void indexAnswer(Answer answer) {
+        Integer id = answer.getId();
+        Integer questionId = answer.getQuestion().getId();
+        String username = answer.getAuthor() == null ? null : answer.getAuthor().getUsername();
+        String text = NgramTokenizer.join(answer.getContent(), username);
+        afterCommit(index -> index.indexAnswer(id, questionId, text));
+    }
+
+    // 질문을 지우면 답변도 함께 삭제되므로(cascade) 답변 문서까지 제거
+    public void removeQuestion(Integer questionId) {
+        afterCommit(index -> index.removeQuestion(questionId));
+    }
+
+    public void removeAnswer(Integer answerId) {
+        afterCommit(index -> index.removeAnswer(answerId));
+    }
+
+    // 검색어가 포함된 질문을 최신순으로 offset번째부터 limit개
+    public Hits search(String kw, long offset, int limit) {
+        return read(index -> index.top(index.match(kw), question -> true, true, offset, limit));
+    }
+
+    // 검색어가 포함된 질문 중 커서(createDate, id)보다 오래된(older) 또는 최신인 질문을 커서에 가까운 순으로 limit개
+    // ids는 항상 최신순, total은 커서의 그쪽에 있는 질문 수
+    public Hits seek(String kw, LocalDateTime createDate, Integer id, boolean older, int limit) {
+        long order = toOrder(createDate);
+        return read(index -> {
+            Hits hits = index.top(index.match(kw), question -> {
+                int compared = index.compareTo(question, order, id);
+                return older ? compared < 0 : compared > 0;
+            }, older, 0, limit);
+            if (!older) {
+                Collections.reverse(hits.ids());
+            }
+            return hits;
+        });
+    }
+
+    // 애플리케이션 기동 시 DB 전체를 읽어 색인을 처음부터 다시 만듦
+    // 재구축 중에도 요청을 처리할 수 있도록 비동기로 실행 (첫 색인 완료 전 검색은 QuestionService가 DB 검색으로 처리)
+    // 가져오기와 정리 작업이 동시에 요청해도 재구축은 하나씩 실행
+    // 문서 수가 한도를 넘으면 전체를 읽지 않고 색인을 끔
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        long documents = questionRepository.count() + answerRepository.count();
+        if (documents > maxDocuments) {
+            write(() -> disable(documents));
+            return;
+        }
+        Index next = new Index();
+        write(() -> pending = new ArrayList<>());
+        try {
+            int questions = 0;
+            int lastId = 0;
+            List<IndexSource> batch;
+            do {
+                batch = questionRepository.findIndexSources(lastId, Limit.of(REBUILD_BATCH_SIZE));
+                for (IndexSource source : batch) {
+                    next.indexQuestion(source.id(),
+                            NgramTokenizer.join(source.subject(), source.content(), source.username()),
+                            toOrder(source.createDate()));
+                    lastId = source.id();
+                }
+                questions += batch.size();
+                // 세어 본 뒤에 글이 늘어서 한도를 넘으면 중단
+                if (next.size() > maxDocuments) {
+                    write(() -> disable(next.size()));
+                    return;
+                }
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+
+            int answers = 0;
+            lastId = 0;
+            do {
+                batch = answerRepository.findIndexSources(lastId, Limit.of(REBUILD_BATCH_SIZE));
+                for (IndexSource source : batch) {
+                    next.indexAnswer(source.id(), source.questionId(),
+                            NgramTokenizer.join(source.content(), source.username()));
+                    lastId = source.id();
+                }
+                answers += batch.size();
+                if (next.size() > maxDocuments) {
+                    write(() -> disable(next.size()));
+                    return;
+                }
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+
+            int replayed;
+            lock.writeLock().lock();
+            try {
+                pending.forEach(change -> change.accept(next));
+                replayed = pending.size();
+                if (next.size() > maxDocuments) {
+                    disable(next.size());
+                    return;
+                }
+                index = next;
+                disabled = false;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("search index rebuilt: {} questions, {} answers, {} tokens, {} replayed changes in {} ms",
+                    questions, answers, next.postings.size(), replayed, System.currentTimeMillis() - start);
+        } finally {
+            write(() -> pending = null);
+        }
+    }
+
+    // 수정/삭제로 쓰지 않는 문서가 전체의 절반을 넘으면 색인을 다시 만들어서 게시 목록을 정리
+    // 정리하는 동안에는 기존 색인으로 검색함
+    // 재구축은 스케줄러 스레드가 아닌 taskExecutor에서 실행 (조회수 반영 등 다른 @Scheduled 작업이 밀리지 않도록)
+    @Scheduled(initialDelayString = "${sbb.search.compact-interval-ms:600000}",
+            fixedDelayString = "${sbb.search.compact-interval-ms:600000}")
+    public void compact() {
+        int[] counts = read(index -> new int[]{index.removedCount, index.docCount});
+        if (ready && counts[0] > REBUILD_BATCH_SIZE && counts[0] * 2 > counts[1]) {
+            log.info("search index compaction: {} of {} documents removed", counts[0], counts[1]);
+            taskExecutor.execute(this::rebuild);
+        }
+    }
+
+    // 트랜잭션 안이면 커밋된 뒤에 반영하고, 롤백되면 버림
+    private void afterCommit(Consumer<Index> change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(change);
+                }
+            });
+        } else {
+            apply(change);
+        }
+    }
+
+    // 색인을 끈 동안에도 재구축 중이면 변경을 모아 둠 (재구축이 끝난 새 색인에 반영)
+    private void apply(Consumer<Index> change) {
+        write(() -> {
+            if (!disabled) {
+                change.accept(index);
+                if (index.size() > maxDocuments) {
+                    disable(index.size());
+                }
+            }
+            if (pending != null) {
+                pending.add(change);
+            }
+        });
+    }
+
+    // 색인을 비우고 DB 검색으로 전환 - 쓰기 잠금 안에서 호출
+    private void disable(long documents) {
+        disabled = true;
+        ready = false;
+        index = new Index();
+        log.warn("search index disabled: {} documents exceed sbb.search.max-documents={}, using database search",
+                documents, maxDocuments);
+    }
+
+    private void write(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private <T> T read(Function<Index, T> query) {
+        lock.readLock().lock();
+        try {
+            return query.apply(index);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static long toOrder(LocalDateTime createDate) {
+        return createDate == null ? Long.MIN_VALUE : createDate.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    // 색인 한 벌 - 잠금은 SearchIndex가 담당 (재구축 중인 새 색인은 재구축 스레드만 사용)
+    private static final class Index {
+        // 토큰 => 게시 목록
+        private final Map<String, Postings> postings = new HashMap<>();
+        // 글자 => 그 글자를 포함하는 토큰 (한 글자 검색어가 전체 토큰을 훑지 않도록)
+        private final Map<Character, Set<String>> charTokens = new HashMap<>();
+        // 문서 번호(색인한 순서) => 문서 키, 문서가 속한 질문 번호
+        private long[] docKeys = new long[1024];
+        private int[] docQuestions = new int[1024];
+        private int docCount;
+        // 수정/삭제되어 더 이상 검색되지 않는 문서 번호 - 게시 목록에서 바로 지우지 않고 검색할 때 건너뜀
+        private final BitSet removed = new BitSet();
+        private int removedCount;
+        // 문서 키 => 현재 문서 번호
+        private final Map<Long, Integer> docNumbers = new HashMap<>();
+        // 질문 번호(처음 색인한 순서) => 질문 id, 작성일시
+        // 검색 결과를 질문 번호의 비트로 모으고 배열에서 바로 비교해서 질문마다 박싱하거나 Map을 조회하지 않음
+        private int[] questionIds = new int[1024];
+        private long[] questionOrders = new long[1024];
+        private int questionCount;
+        // 질문 id => 질문 번호
+        private final Map<Integer, Integer> questionNumbers = new HashMap<>();
+        // 질문 id => 질문 자신과 답변들의 문서 키
+        private final Map<Integer, Set<Long>> questionDocs = new HashMap<>();
+
+        void indexQuestion(Integer id, String text, long order) {
+            int question = questionNumber(id);
+            questionOrders[question] = order;
+            add(questionKey(id), id, question, text);
+        }
+
+        void indexAnswer(Integer id, Integer questionId, String text) {
+            add(answerKey(id), questionId, questionNumber(questionId), text);
+        }
+
+        // 검색되는(수정/삭제되지 않은) 문서 수
+        int size() {
+            return docNumbers.size();
+        }
+
+        void removeQuestion(Integer questionId) {
+            Set<Long> docs = questionDocs.remove(questionId);
+            if (docs != null) {
+                docs.forEach(this::remove);
+            }
+            questionNumbers.remove(questionId);
+        }
+
+        void removeAnswer(Integer answerId) {
+            long key = answerKey(answerId);
+            Integer doc = docNumbers.get(key);
+            remove(key);
+            if (doc != null) {
+                Set<Long> docs = questionDocs.get(questionIds[docQuestions[doc]]);
+                if (docs != null) {
+                    docs.remove(key);
+                }
+            }
+        }
+
+        // 검색어가 포함된 질문 번호
+        BitSet match(String kw) {
+            String normalized = NgramTokenizer.normalize(kw);
+            BitSet questions = new BitSet(questionCount);
+            if (normalized.length() == 1) {
+                matchChar(normalized.charAt(0), questions);
+            } else {
+                matchPhrase(normalized, questions);
+            }
+            return questions;
+        }
+
+        // 작성일시, id 순서로 커서와 비교
+        int compareTo(int question, long order, Integer id) {
+            int compared = Long.compare(questionOrders[question], order);
+            return compared != 0 ? compared : Integer.compare(questionIds[question], id);
+        }
+
+        // 작성일시, id 순서로 두 질문을 비교
+        private int compare(int a, int b) {
+            int compared = Long.compare(questionOrders[a], questionOrders[b]);
+            return compared != 0 ? compared : Integer.compare(questionIds[a], questionIds[b]);
+        }
+
+        // 조건에 맞는 질문을 newest면 최신순, 아니면 오래된 순으로 offset번째부터 limit개
+        // 전체를 정렬하지 않고 offset + limit개만 힙에 남기고, 나머지는 세기만 함
+        Hits top(BitSet questions, IntPredicate filter, boolean newest, long offset, int limit) {
+            // 앞에 와야 하는 질문이 작은 값
+            Comparator<Integer> wanted = newest ? (a, b) -> compare(b, a) : this::compare;
+            int keep = (int) Math.min(offset + limit, questions.cardinality());
+            // 남긴 것 중 가장 뒤에 올 질문이 힙의 맨 위
+            PriorityQueue<Integer> heap = new PriorityQueue<>(keep + 1, wanted.reversed());
+            int total = 0;
+            for (int question = questions.nextSetBit(0); question >= 0; question = questions.nextSetBit(question + 1)) {
+                if (!filter.test(question)) {
+                    continue;
+                }
+                total++;
+                if (heap.size() < keep) {
+                    heap.add(question);
+                } else if (keep > 0 && wanted.compare(question, heap.peek()) < 0) {
+                    heap.poll();
+                    heap.add(question);
+                }
+            }
+            List<Integer> selected = new ArrayList<>(heap);
+            selected.sort(wanted);
+            List<Integer> ids = new ArrayList<>(limit);
+            for (int i = (int) Math.min(offset, selected.size()); i < selected.size(); i++) {
+                ids.add(questionIds[selected.get(i)]);
+            }
+            return new Hits(ids, total);
+        }
+
+        private int questionNumber(Integer id) {
+            return questionNumbers.computeIfAbsent(id, k -> {
+                int question = questionCount++;
+                if (question == questionIds.length) {
+                    questionIds = Arrays.copyOf(questionIds, question * 2);
+                    questionOrders = Arrays.copyOf(questionOrders, question * 2);
+                }
+                questionIds[question] = id;
+                questionOrders[question] = Long.MIN_VALUE;
+                return question;
+            });
+        }
+
+        // 문서를 새 번호로 추가 - 같은 키의 이전 문서는 지운 것으로 표시
+        // 새 번호는 항상 가장 크므로 게시 목록은 정렬된 상태로 뒤에 붙이기만 하면 됨
+        private void add(long key, Integer questionId, int question, String text) {
+            remove(key);
+            int doc = docCount++;
+            if (doc == docKeys.length) {
+                docKeys = Arrays.copyOf(docKeys, doc * 2);
+                docQuestions = Arrays.copyOf(docQuestions, doc * 2);
+            }
+            docKeys[doc] = key;
+            docQuestions[doc] = question;
+            NgramTokenizer.tokenize(text).forEach((token, positions) -> postings(token).add(doc, positions));
+            docNumbers.put(key, doc);
+            questionDocs.computeIfAbsent(questionId, k -> new HashSet<>()).add(key);
+        }
+
+        private Postings postings(String token) {
+            Postings list = postings.get(token);
+            if (list == null) {
+                list = new Postings();
+                postings.put(token, list);
+                for (int i = 0; i < token.length(); i++) {
+                    charTokens.computeIfAbsent(token.charAt(i), k -> new HashSet<>()).add(token);
+                }
+            }
+            return list;
+        }
+
+        private void remove(long key) {
+            Integer doc = docNumbers.remove(key);
+            if (doc != null) {
+                removed.set(doc);
+                removedCount++;
+            }
+        }
+
+        // 한 글자 검색어는 그 글자를 포함하는 모든 토큰의 문서를 합침
+        private void matchChar(char c, BitSet result) {
+            for (String token : charTokens.getOrDefault(c, Set.of())) {
+                Postings list = postings.get(token);
+                for (int i = 0; i < list.size; i++) {
+                    if (!removed.get(list.docs[i])) {
+                        result.set(docQuestions[list.docs[i]]);
+                    }
+                }
+            }
+        }
+
+        // 검색어의 모든 bigram이 연속된 위치에 등장하는 문서만 남김
+        private void matchPhrase(String kw, BitSet result) {
+            List<String> tokens = NgramTokenizer.queryTokens(kw);
+            List<Postings> lists = new ArrayList<>(tokens.size());
+            Postings smallest = null;
+            for (String token : tokens) {
+                Postings list = postings.get(token);
+                if (list == null) {
+                    return;
+                }
+                lists.add(list);
+                if (smallest == null || list.size < smallest.size) {
+                    smallest = list;
+                }
+            }
+
+            int[] found = new int[lists.size()];
+            for (int i = 0; i < smallest.size; i++) {
+                int doc = smallest.docs[i];
+                if (removed.get(doc) || !findAll(lists, doc, found)) {
+                    continue;
+                }
+                Postings first = lists.get(0);
+                for (int p = first.offsets[found[0]]; p < first.offsets[found[0] + 1]; p++) {
+                    if (matchesAt(lists, found, first.positions[p])) {
+                        result.set(docQuestions[doc]);
+                        break;
+                    }
+                }
+            }
+        }
+
+        // 모든 토큰의 게시 목록에서 문서의 위치를 찾음 - 하나라도 없으면 false
+        private static boolean findAll(List<Postings> lists, int doc, int[] found) {
+            for (int i = 0; i < lists.size(); i++) {
+                found[i] = lists.get(i).find(doc);
+                if (found[i] < 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean matchesAt(List<Postings> lists, int[] found, int start) {
+            for (int i = 1; i < lists.size(); i++) {
+                if (!lists.get(i).hasPosition(found[i], start + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // 질문과 답변의 id가 겹치지 않도록 문서 키의 마지막 비트로 구분
+        private static long questionKey(Integer id) {
+            return ((long) id) << 1;
+        }
+
+        private static long answerKey(Integer id) {
+            return (((long) id) << 1) | 1L;
+        }
+    }
+
+    // 한 토큰의 게시 목록 - 문서 번호(오름차순)와 등장 위치를 int 배열에 이어 붙임
+    // i번째 문서의 등장 위치는 positions[offsets[i]] ~ positions[offsets[i + 1] - 1]
+    // 문서마다 Map 항목과 배열 객체를 따로 만들지 않으므로 (토큰, 문서) 하나에 12바이트 남짓만 차지
+    private static final class Postings {
+        private int[] docs = new int[1];
+        private int[] offsets = new int[2];
+        private int[] positions = new int[1];
+        private int size;
+
+        void add(int doc, int[] docPositions) {
+            if (size == docs.length) {
+                int capacity = size + (size >> 1) + 1;
+                docs = Arrays.copyOf(docs, capacity);
+                offsets = Arrays.copyOf(offsets, capacity + 1);
+            }
+            int end = offsets[size];
+            if (end + docPositions.length > positions.length) {
+                positions = Arrays.copyOf(positions, Math.max(end + (end >> 1) + 1, end + docPositions.length));
+            }
+            System.arraycopy(docPositions, 0, positions, end, docPositions.length);
+            docs[size] = doc;
+            offsets[size + 1] = end + docPositions.length;
+            size++;
+        }
+
+        // 문서의 순번, 없으면 음수
+        int find(int doc) {
+            return Arrays.binarySearch(docs, 0, size, doc);
+        }
+
+        boolean hasPosition(int index, int position) {
+            return Arrays.binarySearch(positions, offsets[index], offsets[index + 1], position) >= 0;
+        }
+    }
+}
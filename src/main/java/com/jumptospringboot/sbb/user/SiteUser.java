@@ -1,16 +1,24 @@
 package com.jumptospringboot.sbb.user;
 
+import com.jumptospringboot.sbb.SequenceAligner;
+import com.jumptospringboot.sbb.cache.SecondLevelCacheConfig;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Getter
 @Setter
 @Entity
 // 스프링 시큐리티에 이미 User 클래스가 있기 때문에 SiteUser로 만듦
+// 2차 캐시 - 거의 바뀌지 않으므로 질문/답변 작성자를 읽을 때 DB에 가지 않음
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.USER)
 public class SiteUser {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // 배치 INSERT가 가능하도록 시퀀스에서 id를 50개씩 미리 받아서 사용
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "site_user_seq")
+    @SequenceGenerator(name = "site_user_seq", sequenceName = "site_user_seq", allocationSize = SequenceAligner.ALLOCATION_SIZE)
     private Long id;
 
     // unique = true는 값을 중복되게 저장할 수 없음을 뜻함
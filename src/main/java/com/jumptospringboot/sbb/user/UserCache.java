@@ -0,0 +1,54 @@
+package com.jumptospringboot.sbb.user;
+
+import com.jumptospringboot.sbb.cache.LocalCache;
+import com.jumptospringboot.sbb.cache.LocalCaches;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+// 사용자명 => 사용자 캐시
+// 글 작성, 추천처럼 로그인이 필요한 요청마다 같은 사용자를 다시 조회하지 않도록 UserService와 UserSecurityService가 함께 사용
+// 크기와 유효 시간(TTL)으로 제한하며(LocalCaches), 사용자 정보가 바뀌면 invalidate로 바로 지움
+@Component
+public class UserCache {
+    private final UserRepository userRepository;
+    private final LocalCache<String, SiteUser> cache;
+
+    public UserCache(UserRepository userRepository, LocalCaches localCaches,
+                     @Value("${sbb.user-cache.max-size:10000}") int maxSize,
+                     @Value("${sbb.user-cache.ttl:10m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.cache = localCaches.create("sbb.user.cache", "사용자 캐시", String.class, SiteUser.class, maxSize, ttl);
+    }
+
+    // 캐시에 없거나 유효 시간이 지난 경우에만 DB에서 조회
+    // 여러 요청이 같은 객체를 공유하지 않도록 항상 복사본을 리턴 (영속성 컨텍스트에 속하지 않은 준영속 객체)
+    public Optional<SiteUser> get(String username) {
+        SiteUser cached = cache.get(username);
+        if (cached != null) {
+            return Optional.of(copy(cached));
+        }
+        Optional<SiteUser> siteUser = userRepository.findByusername(username);
+        siteUser.ifPresent(user -> cache.put(username, copy(user)));
+        return siteUser.map(UserCache::copy);
+    }
+
+    public void invalidate(String username) {
+        cache.remove(username);
+    }
+
+    public void invalidateAll() {
+        cache.clear();
+    }
+
+    private static SiteUser copy(SiteUser user) {
+        SiteUser copy = new SiteUser();
+        copy.setId(user.getId());
+        copy.setUsername(user.getUsername());
+        copy.setPassword(user.getPassword());
+        copy.setEmail(user.getEmail());
+        return copy;
+    }
+}
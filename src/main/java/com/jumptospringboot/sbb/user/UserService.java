@@ -5,6 +5,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -15,8 +16,10 @@ public class UserService {
     private final UserRepository userRepository;
     // 빈으로 등록한 PasswordEncoder 객체를 주입받아 사용
     private final PasswordEncoder passwordEncoder;
+    private final UserCache userCache;
 
     // 회원가입
+    @Transactional
     public SiteUser create(String username, String email, String password) {
         SiteUser user = new SiteUser();
         user.setUsername(username);
@@ -27,12 +30,14 @@ public class UserService {
         // BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
         user.setPassword(passwordEncoder.encode(password));
         this.userRepository.save(user);
+        this.userCache.invalidate(username);
         return user;
     }
 
-    // SiteUser 조회
+    // SiteUser 조회 - 캐시된 준영속 객체를 리턴하므로 작성자 지정(외래키)이나 id 비교에만 사용
+    // 캐시에 있으면 커넥션을 얻지 않도록 트랜잭션을 시작하지 않음 (캐시에 없을 때만 리포지터리의 읽기 전용 트랜잭션으로 조회)
     public SiteUser getUser(String username) {
-        Optional<SiteUser> siteUser = this.userRepository.findByusername(username);
+        Optional<SiteUser> siteUser = this.userCache.get(username);
         if(siteUser.isPresent()) {
             return siteUser.get();
         } else {
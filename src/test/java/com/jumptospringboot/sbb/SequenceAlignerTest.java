@@ -0,0 +1,65 @@
+package com.jumptospringboot.sbb;
+
+import com.jumptospringboot.sbb.question.QuestionRepository;
+import com.jumptospringboot.sbb.question.QuestionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// JDBC로 직접 넣을 id를 확보하는 도중에 엔티티를 저장해도 id가 겹치지 않는지 검증
+@SpringBootTest(properties = "sbb.markdown.backfill-initial-delay-ms=3600000")
+@ActiveProfiles("test")
+class SequenceAlignerTest {
+    @Autowired
+    private SequenceAligner sequenceAligner;
+
+    @Autowired
+    private QuestionService questionService;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Test
+    @DisplayName("확보한 id는 서로 다르고 순서대로 커지며, 동시에 저장한 엔티티의 id와 겹치지 않음")
+    void reserveWhileSaving() throws Exception {
+        Set<Long> reserved = new HashSet<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            Future<?> saving = executor.submit(() -> {
+                for (int i = 0; i < 200; i++) {
+                    this.questionService.create("시퀀스 확보 테스트 " + i, "내용", null);
+                }
+            });
+            Future<?> reserving = executor.submit(() -> {
+                for (int r = 0; r < 50; r++) {
+                    SequenceAligner.Ids ids = this.sequenceAligner.reserve("question", 120);
+                    for (int i = 0; i < 120; i++) {
+                        assertTrue(reserved.add(ids.id(i)));
+                        if (i > 0) {
+                            assertTrue(ids.id(i) > ids.id(i - 1));
+                        }
+                    }
+                }
+            });
+            saving.get();
+            reserving.get();
+        }
+
+        assertEquals(50 * 120, reserved.size());
+        for (int i = 0; i < 200; i++) {
+            Integer id = this.questionRepository.findBySubject("시퀀스 확보 테스트 " + i).getId();
+            assertFalse(reserved.contains(id.longValue()), "id " + id);
+        }
+    }
+}
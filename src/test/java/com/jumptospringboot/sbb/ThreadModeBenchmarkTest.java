@@ -0,0 +1,158 @@
+package com.jumptospringboot.sbb;
+
+import com.jumptospringboot.JumptoSpringBootApplication;
+import com.jumptospringboot.sbb.answer.AnswerService;
+import com.jumptospringboot.sbb.question.Question;
+import com.jumptospringboot.sbb.question.QuestionRepository;
+import com.jumptospringboot.sbb.question.QuestionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 플랫폼 스레드와 가상 스레드 실행 모드의 처리량과 p99 응답 시간 비교
+// 실행 시간이 길어서 기본 test 작업에서는 제외됨 - ./gradlew benchmark 로 실행
+@Tag("benchmark")
+class ThreadModeBenchmarkTest {
+    private static final int QUESTIONS = 300;
+    private static final int ANSWERS_PER_QUESTION = 5;
+    private static final int CONCURRENCY = Integer.getInteger("sbb.benchmark.concurrency", 1000);
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration MEASURE = Duration.ofSeconds(Long.getLong("sbb.benchmark.seconds", 20));
+
+    @Test
+    @DisplayName("플랫폼 스레드 vs 가상 스레드 - /question/list, /question/detail/{id}")
+    void compareThreadModes() throws Exception {
+        List<String> report = new ArrayList<>();
+        for (String mode : List.of("platform", "virtual")) {
+            try (ConfigurableApplicationContext context = start(mode)) {
+                int questionId = seed(context);
+                String base = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+                for (String path : List.of("/question/list", "/question/detail/" + questionId)) {
+                    run(base + path, WARMUP);
+                    Result result = run(base + path, MEASURE);
+                    assertTrue(result.ok() > 0, mode + " " + path + " 성공한 요청이 없음");
+                    report.add(String.format("%-8s %-24s %10.1f req/s  p50 %6.1f ms  p99 %7.1f ms  errors %d",
+                            mode, path, result.throughput(), result.percentile(50), result.percentile(99), result.errors()));
+                }
+            }
+        }
+        System.out.println("=== thread mode benchmark (concurrency " + CONCURRENCY + ") ===");
+        report.forEach(System.out::println);
+    }
+
+    // 모드마다 별도의 메모리 DB를 사용하는 애플리케이션을 임의 포트로 기동
+    private ConfigurableApplicationContext start(String mode) {
+        List<String> profiles = new ArrayList<>(List.of("test"));
+        if (mode.equals("virtual")) {
+            profiles.add("virtual");
+        }
+        return new SpringApplicationBuilder(JumptoSpringBootApplication.class)
+                .profiles(profiles.toArray(String[]::new))
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark_" + mode + ";MODE=MySQL",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.thymeleaf.cache=true",
+                        "--logging.level.org.hibernate.orm.jdbc.bind=INFO",
+                        "--logging.level.org.hibernate.orm.jdbc.extract=INFO",
+                        "--logging.level.org.springframework.transaction.interceptor=INFO");
+    }
+
+    private int seed(ConfigurableApplicationContext context) {
+        QuestionService questionService = context.getBean(QuestionService.class);
+        QuestionRepository questionRepository = context.getBean(QuestionRepository.class);
+        AnswerService answerService = context.getBean(AnswerService.class);
+        for (int i = 0; i < QUESTIONS; i++) {
+            questionService.create("벤치마크 질문 " + i, "**내용** " + i, null);
+        }
+        Question question = questionRepository.findBySubject("벤치마크 질문 0");
+        for (int i = 0; i < ANSWERS_PER_QUESTION; i++) {
+            answerService.create(question, "답변 " + i, null);
+        }
+        return question.getId();
+    }
+
+    // CONCURRENCY개의 클라이언트가 쉬지 않고 요청을 보내며 응답 시간을 기록
+    private Result run(String url, Duration duration) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30)).build();
+        long[][] latencies = new long[CONCURRENCY][];
+        int[] counts = new int[CONCURRENCY];
+        AtomicInteger errors = new AtomicInteger();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CONCURRENCY; c++) {
+                int slot = c;
+                clients.submit(() -> {
+                    long[] samples = new long[1024];
+                    int n = 0;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (n == samples.length) {
+                            samples = Arrays.copyOf(samples, n * 2);
+                        }
+                        samples[n++] = System.nanoTime() - start;
+                    }
+                    latencies[slot] = samples;
+                    counts[slot] = n;
+                });
+            }
+        }
+        client.close();
+
+        int total = Arrays.stream(counts).sum();
+        long[] all = new long[total];
+        int offset = 0;
+        for (int c = 0; c < CONCURRENCY; c++) {
+            System.arraycopy(latencies[c], 0, all, offset, counts[c]);
+            offset += counts[c];
+        }
+        Arrays.sort(all);
+        return new Result(all, errors.get(), duration);
+    }
+
+    private record Result(long[] sortedNanos, int errors, Duration duration) {
+        int ok() {
+            return sortedNanos.length;
+        }
+
+        double throughput() {
+            return sortedNanos.length / (duration.toMillis() / 1000.0);
+        }
+
+        double percentile(int p) {
+            if (sortedNanos.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.ceil(p / 100.0 * sortedNanos.length) - 1;
+            return sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.jumptospringboot.sbb;
+
+import com.jumptospringboot.sbb.answer.Answer;
+import com.jumptospringboot.sbb.answer.AnswerService;
+import com.jumptospringboot.sbb.question.Question;
+import com.jumptospringboot.sbb.question.QuestionRepository;
+import com.jumptospringboot.sbb.question.QuestionService;
+import com.jumptospringboot.sbb.user.SiteUser;
+import com.jumptospringboot.sbb.user.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 여러 사용자가 동시에(같은 사용자는 두 번씩) 추천해도 추천 수가 정확한지 검증
+// 요청이 많으므로 SQL 로그는 끔
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.orm.jdbc.bind=INFO",
+        "logging.level.org.hibernate.orm.jdbc.extract=INFO",
+        "logging.level.org.springframework.transaction.interceptor=INFO"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class VoteConcurrencyTest {
+    private static final int USERS = 1000;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private QuestionService questionService;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private AnswerService answerService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("동시 추천 - 질문과 답변의 추천 수가 정확함")
+    void concurrentVotes() throws Exception {
+        // 비밀번호 암호화는 필요 없으므로 리포지터리로 바로 저장
+        List<SiteUser> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            SiteUser user = new SiteUser();
+            user.setUsername("voter_" + i);
+            user.setEmail("voter_" + i + "@sbb.com");
+            user.setPassword("1234");
+            users.add(user);
+        }
+        this.userRepository.saveAll(users);
+
+        this.questionService.create("추천 동시성 테스트", "내용", null);
+        Question question = this.questionRepository.findBySubject("추천 동시성 테스트");
+        Answer answer = this.answerService.create(question, "답변", null);
+
+        // 사용자마다 질문과 답변을 두 번씩 추천 => 요청 4000개
+        List<String> uris = List.of("/question/vote/" + question.getId(), "/answer/vote/" + answer.getId());
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int repeat = 0; repeat < 2; repeat++) {
+            for (int i = 0; i < USERS; i++) {
+                String username = "voter_" + i;
+                for (String uri : uris) {
+                    futures.add(executor.submit(() -> {
+                        this.mockMvc.perform(get(uri).with(user(username)))
+                                .andExpect(status().is3xxRedirection());
+                        return null;
+                    }));
+                }
+            }
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(USERS, this.jdbcTemplate.queryForObject(
+                "select vote_count from question where id = ?", Integer.class, question.getId()));
+        assertEquals(USERS, this.jdbcTemplate.queryForObject(
+                "select count(*) from question_voter where question_id = ?", Integer.class, question.getId()));
+        assertEquals(USERS, this.jdbcTemplate.queryForObject(
+                "select vote_count from answer where id = ?", Integer.class, answer.getId()));
+        assertEquals(USERS, this.jdbcTemplate.queryForObject(
+                "select count(*) from answer_voter where answer_id = ?", Integer.class, answer.getId()));
+    }
+}
@@ -0,0 +1,100 @@
+package com.jumptospringboot.sbb.importer;
+
+import com.jumptospringboot.sbb.question.QuestionCount;
+import com.jumptospringboot.sbb.question.QuestionListVersion;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 일괄 가져오기 - 체크포인트가 chunk와 함께 커밋되어 다시 실행해도 중복 저장되지 않고,
+// 작성일시가 없는 줄은 거부하며, 가져온 글이 질문 수와 목록 버전에 반영되는지 검증
+@SpringBootTest(properties = {"sbb.import.chunk-size=2", "sbb.markdown.backfill-initial-delay-ms=3600000"})
+@ActiveProfiles("test")
+class BulkImporterTest {
+    @Autowired
+    private BulkImporter bulkImporter;
+
+    @Autowired
+    private QuestionCount questionCount;
+
+    @Autowired
+    private QuestionListVersion questionListVersion;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    private Path dir;
+
+    @Test
+    @DisplayName("작성일시가 없는 줄에서 멈추고, 다시 실행하면 체크포인트 다음 줄부터 이어서 가져옴")
+    void resumeFromCheckpoint() throws Exception {
+        List<String> lines = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            lines.add(line("이어가져오기 " + i, i == 5 ? null : "2024-01-0" + i + "T10:00:00"));
+        }
+        Path file = Files.write(this.dir.resolve("resume.ndjson"), lines);
+        long total = this.questionCount.total();
+        long version = this.questionListVersion.current();
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> this.bulkImporter.importFile(file));
+        assertEquals("invalid import line 5: createDate is required", e.getMessage());
+        assertEquals(4, count("이어가져오기%"));
+        assertEquals(4L, checkpointLine(file));
+        assertEquals(total + 4, this.questionCount.total());
+        assertTrue(this.questionListVersion.current() > version);
+
+        // 앞의 4줄은 다시 저장하지 않음
+        assertThrows(IllegalArgumentException.class, () -> this.bulkImporter.importFile(file));
+        assertEquals(4, count("이어가져오기%"));
+    }
+
+    @Test
+    @DisplayName("마지막 chunk가 chunk-size보다 작아도 저장되고, 끝까지 가져오면 체크포인트를 지움")
+    void lastPartialChunk() throws Exception {
+        Path file = Files.write(this.dir.resolve("partial.ndjson"), List.of(
+                line("끝까지가져오기 1", "2024-02-01T10:00:00"),
+                line("끝까지가져오기 2", "2024-02-02T10:00:00"),
+                line("끝까지가져오기 3", "2024-02-03T10:00:00")));
+
+        ImportResult result = this.bulkImporter.importFile(file);
+
+        assertEquals(3, result.questions());
+        assertEquals(3, count("끝까지가져오기%"));
+        assertEquals(0, this.jdbcTemplate.queryForObject(
+                "select count(*) from import_checkpoint where path = ?", Integer.class, path(file)));
+    }
+
+    private static String line(String subject, String createDate) {
+        return "{\"subject\": \"" + subject + "\", \"content\": \"내용\", \"author\": \"importer\""
+                + (createDate == null ? "" : ", \"createDate\": \"" + createDate + "\"")
+                + ", \"answers\": [{\"content\": \"답변\", \"author\": \"importer\", \"createDate\": \"2024-03-01T10:00:00\"}]}";
+    }
+
+    private int count(String subject) {
+        return this.jdbcTemplate.queryForObject(
+                "select count(*) from question where subject like ?", Integer.class, subject);
+    }
+
+    private Long checkpointLine(Path file) {
+        return this.jdbcTemplate.queryForObject(
+                "select line_number from import_checkpoint where path = ?", Long.class, path(file));
+    }
+
+    private static String path(Path file) {
+        return file.toAbsolutePath().normalize().toString();
+    }
+}
@@ -0,0 +1,59 @@
+package com.jumptospringboot.sbb.metrics;
+
+import com.jumptospringboot.sbb.answer.AnswerService;
+import com.jumptospringboot.sbb.question.Question;
+import com.jumptospringboot.sbb.question.QuestionRepository;
+import com.jumptospringboot.sbb.question.QuestionService;
+import com.jumptospringboot.sbb.user.SiteUser;
+import com.jumptospringboot.sbb.user.UserService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 목록, 상세, API 요청이 컨트롤러의 @QueryBudget 안에서 실행되는지 검증
+// test 프로필은 sbb.query-budget.fail=true이므로 @QueryBudget을 넘는 요청은 QueryBudgetExceededException으로 실패함
+@SpringBootTest(properties = "sbb.markdown.backfill-initial-delay-ms=3600000")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class QueryBudgetTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private QuestionService questionService;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private AnswerService answerService;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    @DisplayName("로그인 여부와 상관없이 목록, 검색, 상세(정렬 포함), API가 예산 안에서 응답")
+    void withinBudget() throws Exception {
+        this.questionService.create("쿼리 예산 질문", "내용", null);
+        Question question = this.questionRepository.findBySubject("쿼리 예산 질문");
+        // 답변마다 다른 작성자 - 작성자를 답변마다 따로 읽으면 예산을 넘도록
+        for (int i = 0; i < 20; i++) {
+            SiteUser answerer = this.userService.create("budget_" + i, "budget_" + i + "@sbb.com", "1234");
+            this.answerService.create(question, "답변 " + i, answerer);
+        }
+        Integer id = question.getId();
+        for (String url : new String[]{"/question/list", "/question/list?kw=예산", "/question/detail/" + id,
+                "/question/detail/" + id + "?sort=votes", "/api/questions", "/api/questions/" + id}) {
+            this.mockMvc.perform(get(url)).andExpect(status().isOk());
+            this.mockMvc.perform(get(url).with(user("detail_budget"))).andExpect(status().isOk());
+        }
+    }
+}
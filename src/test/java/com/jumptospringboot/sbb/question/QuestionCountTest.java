@@ -0,0 +1,91 @@
+package com.jumptospringboot.sbb.question;
+
+import com.jumptospringboot.sbb.search.SearchIndex;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// 목록 전체 개수(QuestionCount) - count 쿼리 없이 등록/삭제로 유지하고, 보정 작업(reconcile)이 DB와 맞추는지 검증
+// 하이버네이트 통계(generate_statistics)로 목록 조회에 실행된 JDBC 문장 수를 셈
+@SpringBootTest(properties = {"spring.jpa.properties.hibernate.generate_statistics=true",
+        "sbb.markdown.backfill-initial-delay-ms=3600000", "sbb.view-count.flush-interval-ms=3600000",
+        "sbb.question-count.reconcile-interval-ms=3600000"})
+@ActiveProfiles("test")
+class QuestionCountTest {
+    @Autowired
+    private QuestionService questionService;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private QuestionCount questionCount;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    // 기동할 때 시작한 검색 색인 재구축의 쿼리가 통계에 섞이지 않도록 끝날 때까지 기다림
+    @BeforeEach
+    void waitForIndex() throws InterruptedException {
+        while (!this.searchIndex.isReady()) {
+            Thread.sleep(50);
+        }
+    }
+
+    @Test
+    @DisplayName("목록 전체 개수는 count 쿼리 없이 등록/삭제로 유지")
+    void totalWithoutCount() {
+        this.questionCount.reconcile();
+        long before = this.questionRepository.count();
+        this.questionService.create("개수 유지 질문", "내용", null);
+        assertEquals(before + 1, this.questionCount.total());
+
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        this.questionService.getList(0, "");
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        this.questionService.delete(this.questionRepository.findBySubject("개수 유지 질문"));
+        assertEquals(before, this.questionCount.total());
+    }
+
+    @Test
+    @DisplayName("서비스를 거치지 않고 넣은 행은 보정 후에 반영")
+    void reconcile() {
+        this.questionCount.reconcile();
+        long before = this.questionCount.total();
+        // 시퀀스에서 직접 받은 id는 하이버네이트가 나눠 주는 id 범위와 겹치지 않음
+        Integer id = this.jdbcTemplate.queryForObject("select next value for question_seq", Integer.class);
+        try {
+            this.transactionTemplate.executeWithoutResult(status -> this.jdbcTemplate.update(
+                    "insert into question (id, subject, create_date, answer_count, vote_count, view_count) "
+                            + "values (?, '직접 넣은 질문', current_timestamp, 0, 0, 0)", id));
+            assertEquals(before, this.questionCount.total());
+            this.questionCount.reconcile();
+            assertEquals(before + 1, this.questionCount.total());
+        } finally {
+            this.transactionTemplate.executeWithoutResult(status ->
+                    this.jdbcTemplate.update("delete from question where id = ?", id));
+            this.questionCount.reconcile();
+        }
+    }
+}
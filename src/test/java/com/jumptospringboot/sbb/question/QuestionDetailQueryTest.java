@@ -0,0 +1,149 @@
+package com.jumptospringboot.sbb.question;
+
+import com.jumptospringboot.sbb.answer.Answer;
+import com.jumptospringboot.sbb.answer.AnswerService;
+import com.jumptospringboot.sbb.user.SiteUser;
+import com.jumptospringboot.sbb.user.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 상세 화면 조회 시 실행되는 쿼리 수가 답변 수와 상관없이 일정한지 검증
+// test 프로필은 sbb.query-budget.fail=true이므로 @QueryBudget을 넘는 요청은 예외로 실패함
+// 하이버네이트 통계(generate_statistics)로 실행된 JDBC 문장 수를 셈
+// 통계는 전체 스레드의 쿼리를 세므로 기동 10초 후에 실행되는 마크다운 일괄 변환(MarkdownBackfillJob)과
+// 10초마다 실행되는 조회수 반영(ViewCountAccumulator)이 끼어들지 않도록 미룸
+@SpringBootTest(properties = {"spring.jpa.properties.hibernate.generate_statistics=true",
+        "sbb.markdown.backfill-initial-delay-ms=3600000", "sbb.view-count.flush-interval-ms=3600000"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class QuestionDetailQueryTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private QuestionService questionService;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private AnswerService answerService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("상세 화면 쿼리 수는 답변 수와 무관")
+    void detailQueryCount() throws Exception {
+        SiteUser author = this.userService.create("detail_author", "detail_author@sbb.com", "1234");
+        Integer small = createQuestion("답변 1개인 질문", author, 1);
+        Integer large = createQuestion("답변 30개인 질문", author, 30);
+
+        long smallCount = countStatements(small);
+        long largeCount = countStatements(large);
+
+        assertTrue(smallCount <= 3, "activityDate, question+author, answers+authors: " + smallCount);
+        assertEquals(smallCount, largeCount);
+    }
+
+    @Test
+    @DisplayName("바뀌지 않은 상세 화면은 2차 캐시의 변경 일시로 쿼리 없이 304 응답")
+    void detailNotModified() throws Exception {
+        Integer id = createQuestion("조건부 요청 질문", null, 1);
+        MvcResult first = this.mockMvc.perform(get("/question/detail/" + id)).andExpect(status().isOk()).andReturn();
+        String etag = first.getResponse().getHeader("ETag");
+        assertNotNull(etag);
+
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        this.mockMvc.perform(get("/question/detail/" + id).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        // 답변이 달리면 ETag가 바뀌어 다시 화면을 만듦
+        this.answerService.create(this.questionRepository.findById(id).orElseThrow(), "새 답변", null);
+        this.mockMvc.perform(get("/question/detail/" + id).header("If-None-Match", etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("음수 답변 페이지 번호는 첫 페이지로 응답")
+    void negativeAnswerPage() throws Exception {
+        Integer id = createQuestion("음수 페이지 질문", null, 2);
+        this.mockMvc.perform(get("/question/detail/" + id).param("answerPage", "-1")).andExpect(status().isOk());
+        this.mockMvc.perform(get("/api/questions/" + id).param("answerPage", "-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.answers.length()").value(2));
+    }
+
+    @Test
+    @DisplayName("2차 캐시가 채워진 상세 화면은 SQL을 실행하지 않고, 수정/추천 후에는 바뀐 값을 보여 줌")
+    void warmDetailIssuesNoSql() throws Exception {
+        SiteUser author = this.userService.create("cache_author", "cache_author@sbb.com", "1234");
+        Integer id = createQuestion("2차 캐시 질문", author, 3);
+        countStatements(id);
+        assertEquals(0, countStatements(id));
+
+        Question question = this.questionService.getQuestion(id);
+        this.questionService.vote(question, author);
+        this.mockMvc.perform(get("/api/questions/" + id))
+                .andExpect(jsonPath("$.voteCount").value(1))
+                .andExpect(jsonPath("$.answerCount").value(3));
+
+        // 가장 나중 답변을 추천하면 캐시된 추천순 페이지에서도 맨 앞으로 옴
+        this.mockMvc.perform(get("/api/questions/" + id).param("sort", "votes")).andExpect(status().isOk());
+        Answer answer = this.answerService.getList(question, 0, "oldest").getContent().get(2);
+        this.answerService.vote(answer, author);
+        this.mockMvc.perform(get("/api/questions/" + id).param("sort", "votes"))
+                .andExpect(jsonPath("$.answers[0].id").value(answer.getId()))
+                .andExpect(jsonPath("$.answers[0].voteCount").value(1));
+
+        this.questionService.modify(this.questionService.getQuestion(id), "수정된 2차 캐시 질문", "수정된 내용");
+        this.mockMvc.perform(get("/api/questions/" + id))
+                .andExpect(jsonPath("$.subject").value("수정된 2차 캐시 질문"))
+                .andExpect(jsonPath("$.voteCount").value(1));
+
+        this.answerService.delete(answer);
+        this.mockMvc.perform(get("/api/questions/" + id)).andExpect(jsonPath("$.answerCount").value(2));
+        this.questionService.delete(this.questionService.getQuestion(id));
+        this.mockMvc.perform(get("/api/questions/" + id)).andExpect(status().isNotFound());
+    }
+
+    // 답변마다 다른 작성자를 사용해서 작성자 지연 로딩이 있으면 쿼리 수가 늘어나도록 함
+    private Integer createQuestion(String subject, SiteUser author, int answers) {
+        this.questionService.create(subject, "내용", author);
+        Question question = this.questionRepository.findBySubject(subject);
+        for (int i = 0; i < answers; i++) {
+            SiteUser answerer = this.userService.create(
+                    subject.hashCode() + "_" + i, subject.hashCode() + "_" + i + "@sbb.com", "1234");
+            this.answerService.create(question, "답변 " + i, answerer);
+        }
+        return question.getId();
+    }
+
+    private long countStatements(Integer id) throws Exception {
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        this.mockMvc.perform(get("/question/detail/" + id)).andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+}
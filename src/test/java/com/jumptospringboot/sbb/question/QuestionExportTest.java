@@ -0,0 +1,33 @@
+package com.jumptospringboot.sbb.question;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 전체 내보내기는 관리자만 실행할 수 있는지 검증
+@SpringBootTest(properties = "sbb.markdown.backfill-initial-delay-ms=3600000")
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class QuestionExportTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("로그인하지 않으면 로그인 페이지로, 일반 사용자는 403, 관리자는 내보내기 실행")
+    void adminOnly() throws Exception {
+        this.mockMvc.perform(get("/api/questions/export"))
+                .andExpect(status().is3xxRedirection());
+        this.mockMvc.perform(get("/api/questions/export").with(user("export_user")))
+                .andExpect(status().isForbidden());
+        this.mockMvc.perform(get("/api/questions/export").with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk());
+    }
+}
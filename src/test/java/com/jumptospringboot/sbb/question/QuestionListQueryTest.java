@@ -0,0 +1,113 @@
+package com.jumptospringboot.sbb.question;
+
+import com.jumptospringboot.sbb.answer.AnswerService;
+import com.jumptospringboot.sbb.user.SiteUser;
+import com.jumptospringboot.sbb.user.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 목록 쿼리(QuestionListItem) 검증 - 엔티티를 읽지 않는지, 검색 결과와 커서 방식 목록의 순서가 맞는지
+// 테스트마다 다른 검색어를 사용 - 같은 메모리 DB를 쓰는 다른 테스트의 글과 섞이지 않도록
+// 하이버네이트 통계(generate_statistics)로 읽은 엔티티 수를 셈 - 다른 스레드의 작업(마크다운 변환, 조회수 반영)은 미룸
+@SpringBootTest(properties = {"spring.jpa.properties.hibernate.generate_statistics=true",
+        "sbb.markdown.backfill-initial-delay-ms=3600000", "sbb.view-count.flush-interval-ms=3600000"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class QuestionListQueryTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private QuestionService questionService;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private AnswerService answerService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private QuestionListCache questionListCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("목록은 엔티티 없이 목록 항목만 조회하고, JPQL 검색은 Specification 검색과 같은 결과")
+    void listLoadsNoEntities() throws Exception {
+        SiteUser author = this.userService.create("list_author", "list_author@sbb.com", "1234");
+        this.questionService.create("목록 항목 질문", "내용", author);
+        Question question = this.questionRepository.findBySubject("목록 항목 질문");
+        this.answerService.create(question, "투영검색어가 들어간 답변", null);
+        this.questionListCache.invalidateAll();
+
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        this.mockMvc.perform(get("/question/list")).andExpect(status().isOk())
+                .andExpect(content().string(containsString("목록 항목 질문")));
+        this.mockMvc.perform(get("/api/questions")).andExpect(status().isOk());
+        assertEquals(0, statistics.getEntityLoadCount());
+
+        for (String kw : new String[]{"목록 항목", "투영검색어", "list_author"}) {
+            Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Order.desc("createDate")));
+            List<QuestionListItem> items = this.questionRepository.searchListItems(kw, pageable);
+            Page<Question> entities = this.questionRepository.findAll(this.questionService.search(kw), pageable);
+            assertEquals(entities.getTotalElements(), this.questionRepository.countByKeyword(kw), kw);
+            assertEquals(entities.map(Question::getId).getContent(), ids(items), kw);
+        }
+    }
+
+    @Test
+    @DisplayName("커서 방식 검색 목록 - 커서 앞뒤의 검색 결과만 최신순으로 (검색어 없는 글은 제외)")
+    void searchSlices() {
+        for (int i = 0; i < 15; i++) {
+            this.questionService.create(i % 3 == 0 ? "커서 제외 " + i : "커서검색 " + i, "내용", null);
+        }
+        String kw = "커서검색";
+        List<Integer> all = ids(this.questionRepository.searchListItems(kw,
+                PageRequest.of(0, 20, Sort.by(Sort.Order.desc("createDate"), Sort.Order.desc("id")))));
+        assertEquals(10, all.size());
+
+        List<QuestionListItem> first = this.questionRepository.searchLatest(kw, Limit.of(4));
+        assertEquals(all.subList(0, 4), ids(first));
+
+        QuestionListItem cursor = first.get(3);
+        assertEquals(all.subList(4, 8), ids(this.questionRepository
+                .searchLatestAfter(kw, cursor.createDate(), cursor.id(), Limit.of(4))));
+
+        List<Integer> before = new ArrayList<>(ids(this.questionRepository
+                .searchLatestBefore(kw, cursor.createDate(), cursor.id(), Limit.of(4))));
+        Collections.reverse(before);
+        assertEquals(all.subList(0, 3), before);
+    }
+
+    private static List<Integer> ids(List<QuestionListItem> items) {
+        return items.stream().map(QuestionListItem::id).toList();
+    }
+}
@@ -0,0 +1,136 @@
+package com.jumptospringboot.sbb.question;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// 여러 스레드(여러 stripe)가 같은 질문의 조회수를 더하는 도중에 반영해도 조회수가 빠지지 않는지 검증
+// 주기적인 반영은 미루고 테스트에서 직접 flush를 실행, 쌓아 둘 최대 질문 수는 3
+@SpringBootTest(properties = {"sbb.view-count.flush-interval-ms=3600000", "sbb.view-count.max-buffered-keys=3",
+        "sbb.markdown.backfill-initial-delay-ms=3600000"})
+@ActiveProfiles("test")
+class ViewCountAccumulatorTest {
+    private static final int THREADS = 32;
+    private static final int VIEWS = 2000;
+
+    @Autowired
+    private ViewCountAccumulator viewCountAccumulator;
+
+    @Autowired
+    private QuestionService questionService;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private QuestionListVersion questionListVersion;
+
+    @Autowired
+    private QuestionListCache questionListCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("동시 조회와 반영 - 조회수가 정확하고, 쌓인 질문 수는 stripe 수와 무관하게 질문마다 한 번")
+    void concurrentViews() throws Exception {
+        this.questionService.create("조회수 동시성 테스트", "내용", null);
+        Integer id = this.questionRepository.findBySubject("조회수 동시성 테스트").getId();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < VIEWS; i++) {
+                        this.viewCountAccumulator.record(id);
+                    }
+                }));
+            }
+            // 조회가 쌓이는 도중에도 반영
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 20; i++) {
+                    this.viewCountAccumulator.flush();
+                }
+            }));
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        // 서로 다른 스레드(stripe)에서 조회해도 쌓인 질문은 하나
+        this.viewCountAccumulator.flush();
+        List<Thread> viewers = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            viewers.add(Thread.ofPlatform().start(() -> this.viewCountAccumulator.record(id)));
+        }
+        for (Thread viewer : viewers) {
+            viewer.join();
+        }
+        assertEquals(1, this.meterRegistry.get("sbb.question.views.backlog").gauge().value());
+        this.viewCountAccumulator.flush();
+        assertEquals(0, this.meterRegistry.get("sbb.question.views.backlog").gauge().value());
+        assertEquals(THREADS * VIEWS + 8L, this.jdbcTemplate.queryForObject(
+                "select view_count from question where id = ?", Long.class, id));
+    }
+
+    @Test
+    @DisplayName("조회수를 반영하면 그 질문이 있는 목록 표만 다시 만들고, 목록 버전은 그대로")
+    void flushEvictsListsWithQuestion() {
+        this.questionService.create("조회수 목록 캐시 테스트", "내용", null);
+        Integer id = this.questionRepository.findBySubject("조회수 목록 캐시 테스트").getId();
+        AtomicInteger renders = new AtomicInteger();
+        Function<Page<QuestionListItem>, String> renderer = paging -> "table" + renders.incrementAndGet();
+        this.questionListCache.get(0, "조회수 목록 캐시", () -> this.questionService.getList(0, "조회수 목록 캐시"), renderer);
+        this.questionListCache.get(0, "다른 검색어", () -> this.questionService.getList(0, "다른 검색어"), renderer);
+        long version = this.questionListVersion.current();
+
+        this.viewCountAccumulator.record(id);
+        this.viewCountAccumulator.flush();
+
+        assertEquals(version, this.questionListVersion.current());
+        assertEquals("table3", this.questionListCache.get(0, "조회수 목록 캐시",
+                () -> this.questionService.getList(0, "조회수 목록 캐시"), renderer));
+        assertEquals("table2", this.questionListCache.get(0, "다른 검색어",
+                () -> this.questionService.getList(0, "다른 검색어"), renderer));
+    }
+
+    @Test
+    @DisplayName("쌓인 질문이 최대 수를 넘으면 조회한 스레드에서 바로 반영")
+    void flushWhenFull() {
+        this.viewCountAccumulator.flush();
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            this.questionService.create("조회수 한도 테스트 " + i, "내용", null);
+            ids.add(this.questionRepository.findBySubject("조회수 한도 테스트 " + i).getId());
+        }
+        for (int i = 0; i < 3; i++) {
+            this.viewCountAccumulator.record(ids.get(i));
+        }
+        assertEquals(3, this.meterRegistry.get("sbb.question.views.backlog").gauge().value());
+
+        this.viewCountAccumulator.record(ids.get(3));
+        assertEquals(0, this.meterRegistry.get("sbb.question.views.backlog").gauge().value());
+        for (Integer id : ids) {
+            assertEquals(1L, this.jdbcTemplate.queryForObject(
+                    "select view_count from question where id = ?", Long.class, id));
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.jumptospringboot.sbb.replica;
+
+import com.jumptospringboot.sbb.question.Question;
+import com.jumptospringboot.sbb.question.QuestionRepository;
+import com.jumptospringboot.sbb.question.QuestionService;
+import com.jumptospringboot.sbb.user.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 읽기/쓰기 분리 검증 - 복제 지연을 1시간으로 두고 복제(LocalReplica.sync)는 테스트에서 직접 실행
+@SpringBootTest(properties = {"sbb.replica.lag-ms=3600000", "sbb.replica.sticky=1h",
+        "sbb.markdown.backfill-initial-delay-ms=3600000"})
+@AutoConfigureMockMvc
+@ActiveProfiles({"test", "replica"})
+class ReplicaRoutingTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private QuestionService questionService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private LocalReplica localReplica;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("글을 쓴 세션은 복제 전에도 자기가 쓴 답변을 바로 봄")
+    void readYourWrites() throws Exception {
+        this.userService.create("replica_author", "replica_author@sbb.com", "1234");
+        MockHttpSession session = new MockHttpSession();
+        this.mockMvc.perform(post("/question/create").session(session).with(user("replica_author")).with(csrf())
+                        .param("subject", "복제 지연 질문").param("content", "내용"))
+                .andExpect(status().is3xxRedirection());
+        Integer id = this.questionRepository.findBySubject("복제 지연 질문").getId();
+
+        // 답변을 등록한 세션은 리다이렉트된 상세 화면에서 새 답변을 바로 봄
+        this.mockMvc.perform(post("/answer/create/" + id).session(session).with(user("replica_author")).with(csrf())
+                        .param("content", "방금 쓴 답변"))
+                .andExpect(status().is3xxRedirection());
+        this.mockMvc.perform(get("/question/detail/" + id).session(session).with(user("replica_author")))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("방금 쓴 답변")));
+
+        // 복제된 뒤 다른 사용자의 조회
+        this.localReplica.sync();
+        this.mockMvc.perform(get("/question/detail/" + id))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("방금 쓴 답변")));
+    }
+
+    @Test
+    @DisplayName("캐시에서 지운 직후 복제 DB에서 읽은 이전 행은 2차 캐시에 들어가지 않음 - 복제되면 바로 새 값이 보임")
+    void replicaReadsNotCached() {
+        this.questionService.create("복제 캐시 질문", "내용", null);
+        this.localReplica.sync();
+        Question question = this.questionRepository.findBySubject("복제 캐시 질문");
+        Integer id = question.getId();
+
+        // 주 DB에서 수정하면서 2차 캐시에서 지움 - 복제 DB에서는 아직 이전 제목
+        this.questionService.modify(question, "복제 캐시 질문 (수정)", "내용");
+        assertEquals("복제 캐시 질문", this.questionService.getQuestion(id).getSubject());
+        assertFalse(this.entityManagerFactory.getCache().contains(Question.class, id));
+
+        this.localReplica.sync();
+        assertEquals("복제 캐시 질문 (수정)", this.questionService.getQuestion(id).getSubject());
+    }
+
+    @Test
+    @DisplayName("목록은 복제 DB에서 읽음 - 글을 쓴 세션은 바로, 다른 사용자는 복제된 뒤 바뀐 ETag로 새 글을 봄")
+    void listFromReplica() throws Exception {
+        this.userService.create("replica_lister", "replica_lister@sbb.com", "1234");
+        MockHttpSession session = new MockHttpSession();
+        this.mockMvc.perform(post("/question/create").session(session).with(user("replica_lister"))
+                        .with(csrf()).param("subject", "복제 전 목록 질문").param("content", "내용"))
+                .andExpect(status().is3xxRedirection());
+
+        // 글을 쓰지 않은 사용자는 복제 전까지 이전 목록 (이 목록이 새 버전으로 캐시됨)
+        String stale = this.mockMvc.perform(get("/question/list"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(not(containsString("복제 전 목록 질문"))))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // 글을 쓴 세션은 캐시된 목록 대신 주 DB에서 읽은 목록
+        this.mockMvc.perform(get("/question/list").session(session).with(user("replica_lister")))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("복제 전 목록 질문")));
+
+        // 복제되면 목록 버전이 올라가서 이전 ETag로 304가 되지 않고, 캐시된 이전 목록도 쓰지 않음
+        this.localReplica.sync();
+        this.mockMvc.perform(get("/question/list").header("If-None-Match", stale))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("복제 전 목록 질문")));
+    }
+}
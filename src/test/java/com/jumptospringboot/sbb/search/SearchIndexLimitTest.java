@@ -0,0 +1,34 @@
+package com.jumptospringboot.sbb.search;
+
+import com.jumptospringboot.sbb.question.QuestionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+// 문서 수가 sbb.search.max-documents를 넘으면 색인을 끄고 DB 검색으로 같은 결과를 보여 주는지 검증
+@SpringBootTest(properties = {"sbb.search.max-documents=1", "sbb.markdown.backfill-initial-delay-ms=3600000"})
+@ActiveProfiles("test")
+class SearchIndexLimitTest {
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @Autowired
+    private QuestionService questionService;
+
+    @Test
+    @DisplayName("한도를 넘으면 색인을 끄고, 검색은 LIKE 검색과 keyset 쿼리로 처리")
+    void fallsBackToDatabase() {
+        this.questionService.create("한도초과 질문 1", "내용", null);
+        this.questionService.create("한도초과 질문 2", "내용", null);
+
+        assertFalse(this.searchIndex.isReady());
+        assertEquals(2, this.questionService.getList(0, "한도초과").getTotalElements());
+        assertEquals("한도초과 질문 2",
+                this.questionService.getSlice(null, null, "한도초과").content().get(0).subject());
+    }
+}
@@ -0,0 +1,80 @@
+package com.jumptospringboot.sbb.search;
+
+import com.jumptospringboot.sbb.question.QuestionListItem;
+import com.jumptospringboot.sbb.question.QuestionRepository;
+import com.jumptospringboot.sbb.question.QuestionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// 검색 색인은 커밋된 변경만 반영하고, 요청한 페이지와 전체 개수가 DB 검색과 같은지 검증
+// 테스트마다 다른 검색어를 사용 - 같은 메모리 DB를 쓰는 다른 테스트의 글과 섞이지 않도록
+@SpringBootTest(properties = "sbb.markdown.backfill-initial-delay-ms=3600000")
+@ActiveProfiles("test")
+class SearchIndexTest {
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @Autowired
+    private QuestionService questionService;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // 기동할 때 시작한 재구축이 끝날 때까지 기다림
+    @BeforeEach
+    void waitForIndex() throws InterruptedException {
+        while (!this.searchIndex.isReady()) {
+            Thread.sleep(50);
+        }
+    }
+
+    @Test
+    @DisplayName("커밋 전의 글은 검색되지 않고, 롤백된 글은 색인에 남지 않음")
+    void committedOnly() {
+        this.transactionTemplate.executeWithoutResult(status -> {
+            this.questionService.create("롤백될 색인질문", "내용", null);
+            assertEquals(0, this.searchIndex.search("색인질문", 0, 10).total());
+            status.setRollbackOnly();
+        });
+        assertEquals(0, this.searchIndex.search("색인질문", 0, 10).total());
+
+        this.questionService.create("커밋된 색인질문", "내용", null);
+        assertEquals(1, this.searchIndex.search("색인질문", 0, 10).total());
+
+        this.questionService.delete(this.questionRepository.findBySubject("커밋된 색인질문"));
+        assertEquals(0, this.searchIndex.search("색인질문", 0, 10).total());
+    }
+
+    @Test
+    @DisplayName("검색 결과의 각 페이지와 전체 개수는 최신순 LIKE 검색과 같음 (한 글자 검색어 포함)")
+    void pagesMatchDatabase() {
+        for (int i = 0; i < 25; i++) {
+            this.questionService.create("페이지색인 " + i, i % 2 == 0 ? "뷁 들어간 내용" : "내용", null);
+        }
+        Sort latest = Sort.by(Sort.Order.desc("createDate"), Sort.Order.desc("id"));
+        for (String kw : new String[]{"페이지색인", "뷁"}) {
+            for (int page = 0; page < 3; page++) {
+                SearchIndex.Hits hits = this.searchIndex.search(kw, page * 10L, 10);
+                List<Integer> expected = this.questionRepository
+                        .searchListItems(kw, PageRequest.of(page, 10, latest)).stream()
+                        .map(QuestionListItem::id).toList();
+                assertEquals(expected, hits.ids(), kw + " " + page);
+                assertEquals(this.questionRepository.countByKeyword(kw), hits.total(), kw);
+            }
+        }
+    }
+}